@@ -0,0 +1,139 @@
+package io.ocf;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.format.NamedTextColor;
+import org.bukkit.command.Command;
+import org.bukkit.command.CommandExecutor;
+import org.bukkit.command.CommandSender;
+import org.bukkit.command.TabCompleter;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+public class ArenaCommand implements CommandExecutor, TabCompleter {
+    private static final String MANAGE_PERMISSION = "ctf.arena.manage";
+
+    private final ArenaManager arenaManager;
+
+    public ArenaCommand(ArenaManager arenaManager) {
+        this.arenaManager = arenaManager;
+    }
+
+    @Override
+    public boolean onCommand(@NotNull CommandSender sender, @NotNull Command command,
+                            @NotNull String label, @NotNull String[] args) {
+        if (args.length < 1) {
+            sender.sendMessage(Component.text("Usage: /arena <list|join|leave|create|remove>", NamedTextColor.RED));
+            return true;
+        }
+
+        switch (args[0].toLowerCase()) {
+            case "list" -> handleList(sender);
+            case "join" -> handleJoin(sender, args);
+            case "leave" -> handleLeave(sender);
+            case "create" -> handleCreate(sender, args);
+            case "remove" -> handleRemove(sender, args);
+            default -> sender.sendMessage(Component.text("Unknown subcommand. Use: list, join, leave, create, remove", NamedTextColor.RED));
+        }
+        return true;
+    }
+
+    private void handleList(CommandSender sender) {
+        sender.sendMessage(Component.text("Arenas:", NamedTextColor.GOLD));
+        for (GameManager arena : arenaManager.getArenas()) {
+            sender.sendMessage(Component.text("  - " + arena.getName(), NamedTextColor.YELLOW)
+                    .append(Component.text(" (" + arena.getState().name().toLowerCase() + ", "
+                            + arena.getPlayers().size() + " players)", NamedTextColor.GRAY)));
+        }
+    }
+
+    private void handleJoin(CommandSender sender, String[] args) {
+        if (!(sender instanceof Player player)) {
+            sender.sendMessage(Component.text("This command can only be used by players.", NamedTextColor.RED));
+            return;
+        }
+        if (args.length < 2) {
+            player.sendMessage(Component.text("Usage: /arena join <arena>", NamedTextColor.RED));
+            return;
+        }
+
+        GameManager arena = arenaManager.getArena(args[1]);
+        if (arena == null) {
+            player.sendMessage(Component.text("Unknown arena: " + args[1], NamedTextColor.RED));
+            return;
+        }
+        if (arenaManager.getArena(player) == arena) {
+            player.sendMessage(Component.text("You are already in that arena!", NamedTextColor.RED));
+            return;
+        }
+        arenaManager.join(player, arena);
+    }
+
+    private void handleLeave(CommandSender sender) {
+        if (!(sender instanceof Player player)) {
+            sender.sendMessage(Component.text("This command can only be used by players.", NamedTextColor.RED));
+            return;
+        }
+        if (arenaManager.getArena(player) == arenaManager.getDefaultArena()) {
+            player.sendMessage(Component.text("You are already in the default arena!", NamedTextColor.RED));
+            return;
+        }
+        arenaManager.join(player, arenaManager.getDefaultArena());
+    }
+
+    private void handleCreate(CommandSender sender, String[] args) {
+        if (!sender.hasPermission(MANAGE_PERMISSION)) {
+            sender.sendMessage(Component.text("You don't have permission to create arenas!", NamedTextColor.RED));
+            return;
+        }
+        if (args.length < 2) {
+            sender.sendMessage(Component.text("Usage: /arena create <name>", NamedTextColor.RED));
+            return;
+        }
+
+        GameManager arena = arenaManager.createArena(args[1]);
+        if (arena == null) {
+            sender.sendMessage(Component.text("Arena names must be unique and use only a-z, 0-9 and _ (max 16).", NamedTextColor.RED));
+            return;
+        }
+        sender.sendMessage(Component.text("Created arena " + arena.getName() + ". Join it with /arena join " + arena.getName(), NamedTextColor.GREEN));
+    }
+
+    private void handleRemove(CommandSender sender, String[] args) {
+        if (!sender.hasPermission(MANAGE_PERMISSION)) {
+            sender.sendMessage(Component.text("You don't have permission to remove arenas!", NamedTextColor.RED));
+            return;
+        }
+        if (args.length < 2) {
+            sender.sendMessage(Component.text("Usage: /arena remove <name>", NamedTextColor.RED));
+            return;
+        }
+
+        if (arenaManager.removeArena(args[1])) {
+            sender.sendMessage(Component.text("Removed arena " + args[1].toLowerCase() + ".", NamedTextColor.GREEN));
+        } else {
+            sender.sendMessage(Component.text("Unknown arena, or the default arena.", NamedTextColor.RED));
+        }
+    }
+
+    @Override
+    public @Nullable List<String> onTabComplete(@NotNull CommandSender sender, @NotNull Command command,
+                                                 @NotNull String label, @NotNull String[] args) {
+        if (args.length == 1) {
+            return Arrays.asList("list", "join", "leave", "create", "remove").stream()
+                    .filter(s -> s.startsWith(args[0].toLowerCase()))
+                    .collect(Collectors.toList());
+        }
+        if (args.length == 2 && (args[0].equalsIgnoreCase("join") || args[0].equalsIgnoreCase("remove"))) {
+            return arenaManager.getArenas().stream()
+                    .map(GameManager::getName)
+                    .filter(s -> s.startsWith(args[1].toLowerCase()))
+                    .collect(Collectors.toList());
+        }
+        return List.of();
+    }
+}
@@ -0,0 +1,249 @@
+package io.ocf;
+
+import org.bukkit.Chunk;
+import org.bukkit.ChunkSnapshot;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.WorldBorder;
+import org.bukkit.block.Block;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Highest block Y and surface material of every column inside an arena's border.
+ * Built from chunk snapshots while the arena is pre-generated, so lookups never
+ * touch (or load) chunks. Columns outside the border fall back to the world. Arena
+ * templates store their heightmap with {@link #save} so cloned worlds can {@link #load} it.
+ */
+public class ArenaHeightmap {
+    // Palette index 0 means the column has not been sampled or the palette was full
+    private static final int UNKNOWN = 0;
+    private static final int MAX_PALETTE_SIZE = 256;
+    private static final int FILE_VERSION = 1;
+
+    public static final int NOT_CACHED = Integer.MIN_VALUE;
+
+    private final World world;
+    private final int minX;
+    private final int minZ;
+    private final int sizeX;
+    private final int sizeZ;
+    private final short[] heights;
+    private final byte[] surfaces;
+
+    private final Material[] palette = new Material[MAX_PALETTE_SIZE];
+    private final Map<Material, Integer> paletteIndex = new HashMap<>();
+
+    public ArenaHeightmap(World world) {
+        this.world = world;
+
+        WorldBorder border = world.getWorldBorder();
+        Location center = border.getCenter();
+        double halfSize = border.getSize() / 2;
+        this.minX = (int) Math.floor(center.getX() - halfSize);
+        this.minZ = (int) Math.floor(center.getZ() - halfSize);
+        this.sizeX = (int) Math.floor(center.getX() + halfSize) - minX + 1;
+        this.sizeZ = (int) Math.floor(center.getZ() + halfSize) - minZ + 1;
+        this.heights = new short[sizeX * sizeZ];
+        this.surfaces = new byte[sizeX * sizeZ];
+    }
+
+    private ArenaHeightmap(World world, int minX, int minZ, int sizeX, int sizeZ) {
+        this.world = world;
+        this.minX = minX;
+        this.minZ = minZ;
+        this.sizeX = sizeX;
+        this.sizeZ = sizeZ;
+        this.heights = new short[sizeX * sizeZ];
+        this.surfaces = new byte[sizeX * sizeZ];
+    }
+
+    /**
+     * Writes every sampled column and the surface palette to a file.
+     */
+    public void save(Path file) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                new GZIPOutputStream(Files.newOutputStream(file))))) {
+            out.writeInt(FILE_VERSION);
+            out.writeInt(minX);
+            out.writeInt(minZ);
+            out.writeInt(sizeX);
+            out.writeInt(sizeZ);
+            out.writeInt(paletteIndex.size());
+            for (int id = 1; id <= paletteIndex.size(); id++) {
+                out.writeUTF(palette[id].name());
+            }
+            for (short height : heights) {
+                out.writeShort(height);
+            }
+            out.write(surfaces);
+        }
+    }
+
+    /**
+     * Reads a heightmap written by {@link #save} for a copy of the world it was sampled in.
+     * Materials that no longer exist are treated as unsampled columns.
+     */
+    public static ArenaHeightmap load(World world, byte[] data) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(
+                new GZIPInputStream(new ByteArrayInputStream(data))))) {
+            int version = in.readInt();
+            if (version != FILE_VERSION) {
+                throw new IOException("Unsupported heightmap version " + version);
+            }
+            int minX = in.readInt();
+            int minZ = in.readInt();
+            int sizeX = in.readInt();
+            int sizeZ = in.readInt();
+            if (sizeX <= 0 || sizeZ <= 0 || (long) sizeX * sizeZ > Integer.MAX_VALUE) {
+                throw new IOException("Invalid heightmap size " + sizeX + "x" + sizeZ);
+            }
+            ArenaHeightmap heightmap = new ArenaHeightmap(world, minX, minZ, sizeX, sizeZ);
+
+            // Palette ids are assigned again, in case a material is gone
+            int paletteSize = in.readInt();
+            if (paletteSize < 0 || paletteSize >= MAX_PALETTE_SIZE) {
+                throw new IOException("Invalid heightmap palette size " + paletteSize);
+            }
+            byte[] remap = new byte[MAX_PALETTE_SIZE];
+            for (int id = 1; id <= paletteSize; id++) {
+                Material type = Material.getMaterial(in.readUTF());
+                remap[id] = (byte) (type != null ? heightmap.getPaletteId(type) : UNKNOWN);
+            }
+
+            for (int i = 0; i < heightmap.heights.length; i++) {
+                heightmap.heights[i] = in.readShort();
+            }
+            in.readFully(heightmap.surfaces);
+            for (int i = 0; i < heightmap.surfaces.length; i++) {
+                heightmap.surfaces[i] = remap[heightmap.surfaces[i] & 0xFF];
+            }
+            return heightmap;
+        }
+    }
+
+    public World getWorld() {
+        return world;
+    }
+
+    /**
+     * Records every column of a freshly generated chunk that lies inside the border.
+     */
+    public void sample(Chunk chunk) {
+        ChunkSnapshot snapshot = chunk.getChunkSnapshot(true, false, false);
+        int baseX = chunk.getX() << 4;
+        int baseZ = chunk.getZ() << 4;
+
+        for (int dx = 0; dx < 16; dx++) {
+            int x = baseX + dx;
+            if (x < minX || x >= minX + sizeX) continue;
+            for (int dz = 0; dz < 16; dz++) {
+                int z = baseZ + dz;
+                if (z < minZ || z >= minZ + sizeZ) continue;
+
+                int y = snapshot.getHighestBlockYAt(dx, dz);
+                Material type = y >= world.getMinHeight() ? snapshot.getBlockType(dx, y, dz) : Material.AIR;
+                set(x, y, z, type);
+            }
+        }
+    }
+
+    public boolean contains(int x, int z) {
+        return x >= minX && x < minX + sizeX && z >= minZ && z < minZ + sizeZ;
+    }
+
+    public int getHighestBlockY(int x, int z) {
+        if (!contains(x, z)) {
+            return world.getHighestBlockYAt(x, z);
+        }
+        int i = index(x, z);
+        if ((surfaces[i] & 0xFF) == UNKNOWN) {
+            return world.getHighestBlockYAt(x, z);
+        }
+        return heights[i];
+    }
+
+    public Material getSurfaceType(int x, int z) {
+        if (!contains(x, z)) {
+            return world.getHighestBlockAt(x, z).getType();
+        }
+        int paletteId = surfaces[index(x, z)] & 0xFF;
+        if (paletteId == UNKNOWN) {
+            return world.getHighestBlockAt(x, z).getType();
+        }
+        return palette[paletteId];
+    }
+
+    /**
+     * Highest block Y from the cache only, or {@link #NOT_CACHED} if the column was never
+     * sampled. Never touches the world, so it is safe to call from worker threads once
+     * sampling has finished.
+     */
+    public int getCachedHighestBlockY(int x, int z) {
+        if (!contains(x, z)) return NOT_CACHED;
+        int i = index(x, z);
+        if ((surfaces[i] & 0xFF) == UNKNOWN) return NOT_CACHED;
+        return heights[i];
+    }
+
+    /**
+     * Surface material from the cache only, or null if the column was never sampled.
+     */
+    public Material getCachedSurfaceType(int x, int z) {
+        if (!contains(x, z)) return null;
+        int paletteId = surfaces[index(x, z)] & 0xFF;
+        return paletteId == UNKNOWN ? null : palette[paletteId];
+    }
+
+    /**
+     * Location of the highest block in the column.
+     */
+    public Location getSurfaceLocation(int x, int z) {
+        return new Location(world, x, getHighestBlockY(x, z), z);
+    }
+
+    /**
+     * Keeps the cache in sync when a block is placed that may become the new surface.
+     */
+    public void update(int x, int y, int z, Material type) {
+        if (!contains(x, z) || y < heights[index(x, z)]) return;
+        set(x, y, z, type);
+    }
+
+    /**
+     * Reads a column's surface from the world again, e.g. after its highest block was removed.
+     */
+    public void resample(int x, int z) {
+        if (!contains(x, z)) return;
+        Block top = world.getHighestBlockAt(x, z);
+        set(x, top.getY(), z, top.getType());
+    }
+
+    private void set(int x, int y, int z, Material type) {
+        int i = index(x, z);
+        heights[i] = (short) y;
+        surfaces[i] = (byte) getPaletteId(type);
+    }
+
+    private int getPaletteId(Material type) {
+        Integer id = paletteIndex.get(type);
+        if (id != null) return id;
+
+        int next = paletteIndex.size() + 1;
+        if (next >= MAX_PALETTE_SIZE) return UNKNOWN;
+        palette[next] = type;
+        paletteIndex.put(type, next);
+        return next;
+    }
+
+    private int index(int x, int z) {
+        return (z - minZ) * sizeX + (x - minX);
+    }
+}
@@ -0,0 +1,149 @@
+package io.ocf;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.format.NamedTextColor;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.java.JavaPlugin;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The arenas running on this server. Every arena is its own {@link GameManager} with its
+ * own world, players, timers and listeners, so several matches can run side by side.
+ * Players belong to exactly one arena and start out in the default arena.
+ */
+public class ArenaManager {
+    public static final String DEFAULT_ARENA = "default";
+
+    private final JavaPlugin plugin;
+    private final ConfigManager config;
+    private final TeamManager teamManager;
+    private final KitManager kitManager;
+    private final ArenaWorldFactory worldFactory;
+    private final ArenaPool arenaPool;
+    private final StructureStamper structureStamper;
+    private final Map<String, GameManager> arenas = new LinkedHashMap<>();
+    // Read from the async chat thread
+    private final Map<UUID, GameManager> playerArenas = new ConcurrentHashMap<>();
+    private final GameManager defaultArena;
+
+    public ArenaManager(JavaPlugin plugin, ConfigManager config, TeamManager teamManager, KitManager kitManager,
+                        ArenaWorldFactory worldFactory, ArenaPool arenaPool, StructureStamper structureStamper) {
+        this.plugin = plugin;
+        this.config = config;
+        this.teamManager = teamManager;
+        this.kitManager = kitManager;
+        this.worldFactory = worldFactory;
+        this.arenaPool = arenaPool;
+        this.structureStamper = structureStamper;
+        this.defaultArena = createArena(DEFAULT_ARENA);
+    }
+
+    /**
+     * Creates an empty arena. Returns null if the name is taken or not a valid arena name.
+     */
+    public GameManager createArena(String name) {
+        name = name.toLowerCase();
+        if (arenas.containsKey(name) || !name.matches("[a-z0-9_]{1,16}")) {
+            return null;
+        }
+
+        // The default arena keeps the configured world name
+        String baseName = config.get().game().worldName();
+        String worldName = name.equals(DEFAULT_ARENA) ? baseName : baseName + "-" + name;
+        GameManager arena = new GameManager(plugin, config, name, worldName, teamManager, kitManager,
+                worldFactory, arenaPool, structureStamper);
+
+        // Listeners only registered while the arena is in the matching phase
+        PhaseListeners phaseListeners = arena.getPhaseListeners();
+        phaseListeners.add(new PvpProtectionListener(arena), GameManager.GameState.INIT, GameManager.GameState.COUNTDOWN);
+        phaseListeners.add(new CountdownListener(arena), GameManager.GameState.COUNTDOWN);
+        phaseListeners.add(new RunningListener(arena, teamManager), GameManager.GameState.RUNNING);
+
+        arenas.put(name, arena);
+        plugin.getLogger().info("Created arena " + name);
+        return arena;
+    }
+
+    /**
+     * Stops and removes an arena, moving its players to the default arena. The default
+     * arena can't be removed.
+     */
+    public boolean removeArena(String name) {
+        GameManager arena = arenas.get(name.toLowerCase());
+        if (arena == null || arena.getName().equals(DEFAULT_ARENA)) {
+            return false;
+        }
+
+        if (arena.getState() != GameManager.GameState.IDLE) {
+            arena.stop();
+        }
+        for (Player player : arena.getPlayers()) {
+            join(player, defaultArena);
+        }
+        playerArenas.values().removeIf(a -> a == arena);
+        arenas.remove(arena.getName());
+        teamManager.removeArenaTeams(arena.getName());
+        return true;
+    }
+
+    /**
+     * Stops every arena that isn't idle, e.g. when the plugin is disabled.
+     */
+    public void stopAll() {
+        for (GameManager arena : arenas.values()) {
+            if (arena.getState() != GameManager.GameState.IDLE) {
+                arena.stop();
+            }
+        }
+    }
+
+    public GameManager getArena(String name) {
+        return arenas.get(name.toLowerCase());
+    }
+
+    public GameManager getDefaultArena() {
+        return defaultArena;
+    }
+
+    public Collection<GameManager> getArenas() {
+        return Collections.unmodifiableCollection(arenas.values());
+    }
+
+    /**
+     * The arena the player is in. Players who never joined one are in the default arena.
+     */
+    public GameManager getArena(Player player) {
+        GameManager arena = playerArenas.get(player.getUniqueId());
+        return arena != null ? arena : defaultArena;
+    }
+
+    /**
+     * Whether both players are in the same arena. Safe to call off the main thread.
+     */
+    public boolean inSameArena(Player a, Player b) {
+        return getArena(a) == getArena(b);
+    }
+
+    /**
+     * Called when a player joins the server: puts them back into their arena.
+     */
+    public void handleJoin(Player player) {
+        getArena(player).addPlayer(player);
+    }
+
+    /**
+     * Moves the player out of their current arena and into the given one.
+     */
+    public void join(Player player, GameManager arena) {
+        GameManager current = getArena(player);
+        if (current == arena && arena.hasPlayer(player)) return;
+
+        current.removePlayer(player);
+        playerArenas.put(player.getUniqueId(), arena);
+        arena.addPlayer(player);
+        player.sendMessage(Component.text("You joined arena ", NamedTextColor.GREEN)
+                .append(Component.text(arena.getName(), NamedTextColor.YELLOW)));
+    }
+}
@@ -0,0 +1,150 @@
+package io.ocf;
+
+import org.bukkit.Bukkit;
+import org.bukkit.World;
+import org.bukkit.plugin.java.JavaPlugin;
+
+import java.util.*;
+
+/**
+ * Keeps a number of fully generated, configured and analysed arena worlds loaded so that
+ * {@code /game init} can claim one instead of waiting on world generation.
+ * Replacements are generated in the background, one world at a time.
+ */
+public class ArenaPool {
+    private final JavaPlugin plugin;
+    private final ConfigManager config;
+    private final ArenaWorldFactory worldFactory;
+
+    private final List<PooledArena> readyArenas = new ArrayList<>();
+    private final Set<String> claimedWorlds = new HashSet<>();
+    private boolean refilling = false;
+    private World generatingWorld;
+
+    public record PooledArena(World world, int borderSize, ArenaHeightmap heightmap) {}
+
+    public ArenaPool(JavaPlugin plugin, ConfigManager config, ArenaWorldFactory worldFactory) {
+        this.plugin = plugin;
+        this.config = config;
+        this.worldFactory = worldFactory;
+    }
+
+    private int getPoolSize() {
+        return config.get().arenaPool().size();
+    }
+
+    private int getPoolBorderSize() {
+        return config.get().arenaPool().borderSize();
+    }
+
+    /**
+     * Claims a ready arena whose generated area covers the given border size and
+     * starts generating its replacement. Returns null if no suitable arena is ready.
+     */
+    public PooledArena claim(int borderSize) {
+        PooledArena best = null;
+        for (PooledArena arena : readyArenas) {
+            if (arena.borderSize() >= borderSize && (best == null || arena.borderSize() < best.borderSize())) {
+                best = arena;
+            }
+        }
+        if (best == null) {
+            return null;
+        }
+
+        readyArenas.remove(best);
+        claimedWorlds.add(best.world().getName());
+        plugin.getLogger().info("Claimed pooled arena " + best.world().getName() + " (" + readyArenas.size() + " left)");
+
+        refill();
+        return best;
+    }
+
+    /**
+     * Marks a claimed arena as no longer in use so its name can be reused.
+     */
+    public void release(String worldName) {
+        claimedWorlds.remove(worldName);
+    }
+
+    /**
+     * Starts generating another arena if the pool is below its configured size and
+     * the heap is below the configured memory ceiling.
+     */
+    public void refill() {
+        if (refilling || readyArenas.size() >= getPoolSize()) {
+            return;
+        }
+
+        long maxMemoryMb = config.get().arenaPool().maxMemoryMb();
+        Runtime runtime = Runtime.getRuntime();
+        long usedMb = (runtime.totalMemory() - runtime.freeMemory()) / (1024 * 1024);
+        if (usedMb >= maxMemoryMb) {
+            plugin.getLogger().info("Not generating pooled arena: heap usage " + usedMb + "MB is above the "
+                    + maxMemoryMb + "MB ceiling");
+            return;
+        }
+
+        String worldName = nextWorldName();
+        int borderSize = getPoolBorderSize();
+        refilling = true;
+        worldFactory.prepareWorld(worldName, borderSize, null, (world, templateHeightmap) -> {
+            if (world == null) {
+                plugin.getLogger().severe("Failed to create pooled arena " + worldName);
+                refilling = false;
+                return;
+            }
+            worldFactory.configureWorld(world, borderSize);
+            if (templateHeightmap != null) {
+                // Cloned from a template, nothing left to pre-generate
+                addReady(new PooledArena(world, borderSize, templateHeightmap));
+                return;
+            }
+            generatingWorld = world;
+
+            PooledArena arena = new PooledArena(world, borderSize, new ArenaHeightmap(world));
+            int maxInFlight = config.get().arenaPool().maxChunksInFlight();
+            new ChunkPregenerator(plugin, world, maxInFlight, null, arena.heightmap()::sample, () -> {
+                generatingWorld = null;
+                addReady(arena);
+            }).start();
+        });
+    }
+
+    private void addReady(PooledArena arena) {
+        readyArenas.add(arena);
+        plugin.getLogger().info("Pooled arena " + arena.world().getName() + " is ready (" + readyArenas.size() + "/" + getPoolSize() + ")");
+        refilling = false;
+        refill();
+    }
+
+    private String nextWorldName() {
+        String baseName = config.get().game().worldName();
+        for (int i = 1; ; i++) {
+            String name = baseName + "_" + i;
+            if (!claimedWorlds.contains(name) && Bukkit.getWorld(name) == null) {
+                return name;
+            }
+        }
+    }
+
+    /**
+     * Deletes every ready arena and the one being generated, e.g. when the plugin is
+     * disabled. Claimed arenas belong to their game and are deleted when it stops.
+     */
+    public void shutdown() {
+        for (PooledArena arena : readyArenas) {
+            worldFactory.deleteWorld(arena.world());
+        }
+        readyArenas.clear();
+        if (generatingWorld != null) {
+            worldFactory.deleteWorld(generatingWorld);
+            generatingWorld = null;
+        }
+        refilling = false;
+    }
+
+    public int getReadyCount() {
+        return readyArenas.size();
+    }
+}
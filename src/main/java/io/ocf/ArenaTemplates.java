@@ -0,0 +1,296 @@
+package io.ocf;
+
+import org.bukkit.Bukkit;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.java.JavaPlugin;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.*;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Generates a fixed-seed arena once as a template world and materialises match worlds
+ * by copying the template's files instead of running the world generator again. The
+ * heightmap sampled while generating the template is stored with it, so cloned worlds
+ * don't have to be pre-generated again. Templates are keyed by seed, border size and
+ * world type.
+ */
+public class ArenaTemplates {
+    private static final String TEMPLATE_PREFIX = "ctf_template_";
+    private static final String MARKER_FILE = "ctf-template.properties";
+    private static final String HEIGHTMAP_FILE = "ctf-heightmap.dat";
+    private static final Set<String> SKIPPED_FILES = Set.of("uid.dat", "session.lock", MARKER_FILE, HEIGHTMAP_FILE);
+    // Reusable templates kept at startup, most recently used first
+    private static final int MAX_TEMPLATES = 4;
+
+    private final JavaPlugin plugin;
+    private final ConfigManager config;
+    private final ArenaWorldFactory worldFactory;
+    private final Map<String, List<Consumer<Boolean>>> pendingTemplates = new HashMap<>();
+
+    public ArenaTemplates(JavaPlugin plugin, ConfigManager config, ArenaWorldFactory worldFactory) {
+        this.plugin = plugin;
+        this.config = config;
+        this.worldFactory = worldFactory;
+    }
+
+    /**
+     * Templates only make sense for a fixed seed; a random seed can never be replayed.
+     */
+    public boolean isEnabled() {
+        CtfConfig settings = config.get();
+        return settings.arenaTemplate().enabled() && !settings.game().worldSeed().isEmpty();
+    }
+
+    private String getCacheKey(int borderSize) {
+        CtfConfig.Game game = config.get().game();
+        return game.worldSeed() + ":" + borderSize + ":" + game.worldType();
+    }
+
+    private String getTemplateName(String cacheKey) {
+        return TEMPLATE_PREFIX + Integer.toHexString(cacheKey.hashCode());
+    }
+
+    /**
+     * Copies the template for the given border size into a new world folder and loads it,
+     * generating the template first if needed. While a template is generated, its progress
+     * is shown to {@code progressViewers} (null for none). The callback runs on the main
+     * thread and receives the world, or null if it could not be created, and the template's
+     * heightmap, or null if it has none.
+     */
+    public void materialise(String worldName, int borderSize, Supplier<? extends Collection<? extends Player>> progressViewers,
+                            BiConsumer<World, ArenaHeightmap> callback) {
+        String cacheKey = getCacheKey(borderSize);
+        String templateName = getTemplateName(cacheKey);
+        Path templateFolder = Bukkit.getWorldContainer().toPath().resolve(templateName);
+
+        if (isTemplateReady(templateFolder, cacheKey)) {
+            copyAndLoad(templateFolder, worldName, callback);
+            return;
+        }
+
+        ensureTemplate(templateName, cacheKey, borderSize, progressViewers, success -> {
+            if (success) {
+                copyAndLoad(templateFolder, worldName, callback);
+            } else {
+                callback.accept(null, null);
+            }
+        });
+    }
+
+    private boolean isTemplateReady(Path templateFolder, String cacheKey) {
+        return cacheKey.equals(readCacheKey(templateFolder));
+    }
+
+    /**
+     * The cache key of a finished template, or null if the template is incomplete.
+     */
+    private String readCacheKey(Path templateFolder) {
+        Path marker = templateFolder.resolve(MARKER_FILE);
+        if (!Files.exists(marker)) return null;
+
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(marker)) {
+            properties.load(reader);
+        } catch (IOException e) {
+            return null;
+        }
+        return properties.getProperty("key");
+    }
+
+    private long lastUsed(Path templateFolder) {
+        try {
+            return Files.getLastModifiedTime(templateFolder.resolve(MARKER_FILE)).toMillis();
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * Deletes templates that can't be reused: incomplete ones, ones for another seed or
+     * world type (or all of them while template mode is off), and all but the
+     * {@value #MAX_TEMPLATES} most recently used. Called at startup, before any template
+     * is in use.
+     */
+    public void reclaimStaleTemplates() {
+        CtfConfig.Game game = config.get().game();
+        String keyPrefix = game.worldSeed() + ":";
+        String keySuffix = ":" + game.worldType();
+
+        List<Path> stale = new ArrayList<>();
+        List<Path> reusable = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(Bukkit.getWorldContainer().toPath(), TEMPLATE_PREFIX + "*")) {
+            for (Path folder : stream) {
+                if (!Files.isDirectory(folder) || Bukkit.getWorld(folder.getFileName().toString()) != null) continue;
+                String key = readCacheKey(folder);
+                if (isEnabled() && key != null && key.startsWith(keyPrefix) && key.endsWith(keySuffix)) {
+                    reusable.add(folder);
+                } else {
+                    stale.add(folder);
+                }
+            }
+        } catch (IOException e) {
+            plugin.getLogger().warning("Failed to scan for arena templates: " + e.getMessage());
+            return;
+        }
+
+        reusable.sort(Comparator.comparingLong(this::lastUsed).reversed());
+        if (reusable.size() > MAX_TEMPLATES) {
+            stale.addAll(reusable.subList(MAX_TEMPLATES, reusable.size()));
+        }
+        for (Path folder : stale) {
+            plugin.getLogger().info("Reclaiming arena template " + folder.getFileName());
+            worldFactory.deleteWorldFolder(folder.getFileName().toString());
+        }
+    }
+
+    private void ensureTemplate(String templateName, String cacheKey, int borderSize, Supplier<? extends Collection<? extends Player>> progressViewers,
+                                Consumer<Boolean> onReady) {
+        // Another caller is already generating this template
+        List<Consumer<Boolean>> waiting = pendingTemplates.get(cacheKey);
+        if (waiting != null) {
+            waiting.add(onReady);
+            return;
+        }
+        waiting = new ArrayList<>();
+        waiting.add(onReady);
+        pendingTemplates.put(cacheKey, waiting);
+
+        // Discard any incomplete template from an earlier attempt
+        World existing = Bukkit.getWorld(templateName);
+        if (existing != null) {
+            worldFactory.deleteWorld(existing);
+        } else {
+            worldFactory.deleteWorldFolder(templateName);
+        }
+
+        plugin.getLogger().info("Generating arena template " + templateName + " (" + cacheKey + ")");
+        World template = worldFactory.createWorld(templateName);
+        if (template == null) {
+            plugin.getLogger().severe("Failed to create arena template " + templateName);
+            completeTemplate(cacheKey, false);
+            return;
+        }
+        worldFactory.configureWorld(template, borderSize);
+
+        int maxInFlight = config.get().game().pregenMaxChunksInFlight();
+        ArenaHeightmap heightmap = new ArenaHeightmap(template);
+        new ChunkPregenerator(plugin, template, maxInFlight, progressViewers, heightmap::sample, () -> {
+            // Unloading with save flushes every generated chunk to the region files
+            if (!Bukkit.unloadWorld(template, true)) {
+                plugin.getLogger().severe("Failed to unload arena template " + templateName);
+                completeTemplate(cacheKey, false);
+                return;
+            }
+
+            // The marker goes last, it marks the template as complete
+            Path templateFolder = Bukkit.getWorldContainer().toPath().resolve(templateName);
+            Properties properties = new Properties();
+            properties.setProperty("key", cacheKey);
+            try (Writer writer = Files.newBufferedWriter(templateFolder.resolve(MARKER_FILE))) {
+                heightmap.save(templateFolder.resolve(HEIGHTMAP_FILE));
+                properties.store(writer, "CTF arena template");
+            } catch (IOException e) {
+                plugin.getLogger().severe("Failed to write arena template files: " + e.getMessage());
+                completeTemplate(cacheKey, false);
+                return;
+            }
+            completeTemplate(cacheKey, true);
+        }).start();
+    }
+
+    private void completeTemplate(String cacheKey, boolean success) {
+        List<Consumer<Boolean>> waiting = pendingTemplates.remove(cacheKey);
+        if (waiting == null) return;
+        for (Consumer<Boolean> callback : waiting) {
+            callback.accept(success);
+        }
+    }
+
+    private void copyAndLoad(Path templateFolder, String worldName, BiConsumer<World, ArenaHeightmap> callback) {
+        // Never copy over an existing folder, it may belong to a different arena
+        worldFactory.deleteWorldFolder(worldName);
+
+        Path target = Bukkit.getWorldContainer().toPath().resolve(worldName);
+
+        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
+            long start = System.currentTimeMillis();
+            boolean copied = copyTemplate(templateFolder, target);
+            byte[] heightmapData = copied ? readHeightmap(templateFolder) : null;
+            long elapsed = System.currentTimeMillis() - start;
+
+            Bukkit.getScheduler().runTask(plugin, () -> {
+                if (!copied) {
+                    callback.accept(null, null);
+                    return;
+                }
+                plugin.getLogger().info("Materialised " + worldName + " from " + templateFolder.getFileName()
+                        + " in " + elapsed + "ms");
+
+                World world = worldFactory.createWorld(worldName);
+                ArenaHeightmap heightmap = null;
+                if (world != null && heightmapData != null) {
+                    try {
+                        heightmap = ArenaHeightmap.load(world, heightmapData);
+                    } catch (IOException e) {
+                        plugin.getLogger().warning("Failed to load the heightmap of " + templateFolder.getFileName()
+                                + ", pre-generating " + worldName + " instead: " + e.getMessage());
+                    }
+                }
+                callback.accept(world, heightmap);
+            });
+        });
+    }
+
+    /**
+     * Reads the stored heightmap and marks the template as used. Returns null if the
+     * template has none, e.g. because it was generated by an older version.
+     */
+    private byte[] readHeightmap(Path templateFolder) {
+        try {
+            Files.setLastModifiedTime(templateFolder.resolve(MARKER_FILE), FileTime.fromMillis(System.currentTimeMillis()));
+            Path file = templateFolder.resolve(HEIGHTMAP_FILE);
+            return Files.exists(file) ? Files.readAllBytes(file) : null;
+        } catch (IOException e) {
+            plugin.getLogger().warning("Failed to read the heightmap of " + templateFolder.getFileName() + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Copies every file, including region files. Hard links would be cheaper but share
+     * the template's region files with the match world, which any save would corrupt.
+     */
+    private boolean copyTemplate(Path source, Path target) {
+        try {
+            Files.walkFileTree(source, new SimpleFileVisitor<>() {
+                @Override
+                public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+                    Files.createDirectories(target.resolve(source.relativize(dir)));
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                    if (SKIPPED_FILES.contains(file.getFileName().toString())) {
+                        return FileVisitResult.CONTINUE;
+                    }
+                    Files.copy(file, target.resolve(source.relativize(file)), StandardCopyOption.COPY_ATTRIBUTES);
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+            return true;
+        } catch (IOException e) {
+            plugin.getLogger().severe("Failed to copy arena template " + source + ": " + e.getMessage());
+            return false;
+        }
+    }
+}
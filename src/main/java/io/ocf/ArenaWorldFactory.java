@@ -0,0 +1,177 @@
+package io.ocf;
+
+import org.bukkit.*;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.java.JavaPlugin;
+
+import java.io.IOException;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Random;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+/**
+ * Creates, configures and deletes arena worlds using the settings in the {@code game} config section.
+ */
+public class ArenaWorldFactory {
+    private static final String TOMBSTONE_PREFIX = ".ctf-tombstone-";
+
+    private final JavaPlugin plugin;
+    private final ConfigManager config;
+    private final ArenaTemplates templates;
+
+    public ArenaWorldFactory(JavaPlugin plugin, ConfigManager config) {
+        this.plugin = plugin;
+        this.config = config;
+        this.templates = new ArenaTemplates(plugin, config, this);
+    }
+
+    /**
+     * Creates a fresh arena world, cloning it from a template when template mode is enabled.
+     * Template generation progress is shown to {@code progressViewers}, if not null.
+     * A folder left behind under the same name (e.g. by a crash) is discarded rather than
+     * loaded. The callback runs on the main thread, possibly before this method returns,
+     * and receives null if the world could not be created. Its heightmap argument is only
+     * set for worlds cloned from a template, which then don't need to be pre-generated.
+     */
+    public void prepareWorld(String worldName, int borderSize, Supplier<? extends Collection<? extends Player>> progressViewers,
+                             BiConsumer<World, ArenaHeightmap> callback) {
+        if (templates.isEnabled()) {
+            templates.materialise(worldName, borderSize, progressViewers, callback);
+        } else {
+            if (Bukkit.getWorld(worldName) == null) {
+                deleteWorldFolder(worldName);
+            }
+            callback.accept(createWorld(worldName), null);
+        }
+    }
+
+    public World createWorld(String worldName) {
+        CtfConfig.Game game = config.get().game();
+        String seedStr = game.worldSeed();
+
+        WorldCreator creator = new WorldCreator(worldName);
+
+        // Set world type, validated when the config was loaded
+        creator.type(WorldType.valueOf(game.worldType()));
+
+        // Set seed if provided
+        if (!seedStr.isEmpty()) {
+            try {
+                creator.seed(Long.parseLong(seedStr));
+            } catch (NumberFormatException e) {
+                creator.seed(seedStr.hashCode());
+            }
+        } else {
+            creator.seed(new Random().nextLong());
+        }
+
+        return creator.createWorld();
+    }
+
+    public void configureWorld(World world, int borderSize) {
+        // Set world border
+        WorldBorder border = world.getWorldBorder();
+        border.setCenter(0, 0);
+        border.setSize(borderSize);
+
+        world.setGameRule(GameRules.ADVANCE_TIME, false);
+        world.setGameRule(GameRules.ADVANCE_WEATHER, false);
+        world.setDifficulty(Difficulty.PEACEFUL);
+        world.setTime(6000); // Set to noon
+    }
+
+    /**
+     * Unloads the world and moves its folder out of the way with an atomic rename, so the
+     * world name can be reused immediately. The renamed folder is deleted on a background thread.
+     */
+    public void deleteWorld(World world) {
+        String worldName = world.getName();
+        if (!Bukkit.unloadWorld(world, false)) {
+            plugin.getLogger().warning("Failed to unload world " + worldName + ", not deleting it");
+            return;
+        }
+        deleteWorldFolder(worldName);
+    }
+
+    /**
+     * Moves the folder of an unloaded world to a tombstone and deletes it in the background.
+     */
+    public void deleteWorldFolder(String worldName) {
+        Path folder = Bukkit.getWorldContainer().toPath().resolve(worldName);
+        if (!Files.exists(folder)) return;
+
+        Path tombstone = folder.resolveSibling(TOMBSTONE_PREFIX + worldName + "-" + System.currentTimeMillis());
+        try {
+            Files.move(folder, tombstone, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            plugin.getLogger().warning("Failed to rename " + folder + " to a tombstone, deleting in place: " + e.getMessage());
+            deleteRecursively(folder);
+            return;
+        }
+
+        if (!plugin.isEnabled()) {
+            // Shutting down, no more tasks; reclaimTombstones() deletes it on the next start
+            return;
+        }
+        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> deleteRecursively(tombstone));
+    }
+
+    /**
+     * Deletes arena templates that can't be reused any more, see {@link ArenaTemplates#reclaimStaleTemplates()}.
+     */
+    public void reclaimStaleTemplates() {
+        templates.reclaimStaleTemplates();
+    }
+
+    /**
+     * Deletes tombstones left behind by a previous run, e.g. if the server stopped mid-deletion.
+     */
+    public void reclaimTombstones() {
+        Path container = Bukkit.getWorldContainer().toPath();
+        List<Path> tombstones = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(container, TOMBSTONE_PREFIX + "*")) {
+            for (Path path : stream) {
+                tombstones.add(path);
+            }
+        } catch (IOException e) {
+            plugin.getLogger().warning("Failed to scan for world tombstones: " + e.getMessage());
+            return;
+        }
+
+        if (tombstones.isEmpty()) return;
+        plugin.getLogger().info("Reclaiming " + tombstones.size() + " world tombstone(s)");
+        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
+            for (Path tombstone : tombstones) {
+                deleteRecursively(tombstone);
+            }
+        });
+    }
+
+    private void deleteRecursively(Path root) {
+        long start = System.currentTimeMillis();
+        try {
+            Files.walkFileTree(root, new SimpleFileVisitor<>() {
+                @Override
+                public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                    Files.delete(file);
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult postVisitDirectory(Path dir, IOException e) throws IOException {
+                    if (e != null) throw e;
+                    Files.delete(dir);
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+            plugin.getLogger().info("Deleted " + root.getFileName() + " in " + (System.currentTimeMillis() - start) + "ms");
+        } catch (IOException e) {
+            plugin.getLogger().warning("Failed to delete " + root + ": " + e.getMessage());
+        }
+    }
+}
@@ -10,30 +10,58 @@ import org.bukkit.event.player.PlayerJoinEvent;
 import org.bukkit.plugin.java.JavaPlugin;
 
 public class CTF extends JavaPlugin implements Listener {
+    private ConfigManager configManager;
     private TeamManager teamManager;
     private KitManager kitManager;
-    private GameManager gameManager;
+    private ArenaManager arenaManager;
     private CustomItemManager customItemManager;
     private ShopManager shopManager;
+    private ArenaPool arenaPool;
 
     @Override
     public void onEnable() {
+        configManager = new ConfigManager(this);
         teamManager = new TeamManager(this);
         kitManager = new KitManager(this);
-        gameManager = new GameManager(this, teamManager, kitManager);
-        customItemManager = new CustomItemManager(this, gameManager, teamManager);
+        ArenaWorldFactory worldFactory = new ArenaWorldFactory(this, configManager);
+        worldFactory.reclaimTombstones();
+        worldFactory.reclaimStaleTemplates();
+        arenaPool = new ArenaPool(this, configManager, worldFactory);
+        StructureStamper structureStamper = new StructureStamper(this, configManager);
+        arenaManager = new ArenaManager(this, configManager, teamManager, kitManager, worldFactory, arenaPool, structureStamper);
+        customItemManager = new CustomItemManager(this, arenaManager, teamManager);
         kitManager.setCustomItemManager(customItemManager);
         shopManager = new ShopManager(this);
         shopManager.setCustomItemManager(customItemManager);
 
+        // Everything that isn't read from the config snapshot is parsed again on reload
+        configManager.addReloadListener(config -> {
+            kitManager.loadKits();
+            shopManager.loadShops();
+            structureStamper.loadStructures();
+            arenaPool.refill();
+        });
+
         // Register commands
-        TeamCommand teamCommand = new TeamCommand(teamManager, gameManager);
-        KitCommand kitCommand = new KitCommand(teamManager, kitManager, gameManager);
+        TeamCommand teamCommand = new TeamCommand(teamManager, arenaManager);
+        KitCommand kitCommand = new KitCommand(teamManager, kitManager, arenaManager);
         getCommand("team").setExecutor(teamCommand);
         getCommand("chat").setExecutor(new ChatCommand(teamManager));
         getCommand("kit").setExecutor(kitCommand);
-        getCommand("game").setExecutor(new GameCommand(gameManager));
-        getCommand("shop").setExecutor(new ShopCommand(teamManager, shopManager, gameManager));
+        getCommand("game").setExecutor(new GameCommand(arenaManager));
+        getCommand("shop").setExecutor(new ShopCommand(teamManager, shopManager, arenaManager));
+
+        WalletCommand walletCommand = new WalletCommand(teamManager, arenaManager);
+        getCommand("wallet").setExecutor(walletCommand);
+        getCommand("wallet").setTabCompleter(walletCommand);
+
+        ArenaCommand arenaCommand = new ArenaCommand(arenaManager);
+        getCommand("arena").setExecutor(arenaCommand);
+        getCommand("arena").setTabCompleter(arenaCommand);
+
+        CtfCommand ctfCommand = new CtfCommand(configManager);
+        getCommand("ctf").setExecutor(ctfCommand);
+        getCommand("ctf").setTabCompleter(ctfCommand);
 
         GiveItemCommand giveItemCommand = new GiveItemCommand(customItemManager);
         getCommand("giveitem").setExecutor(giveItemCommand);
@@ -41,10 +69,29 @@ public class CTF extends JavaPlugin implements Listener {
 
         // Register listeners
         Bukkit.getPluginManager().registerEvents(this, this);
-        Bukkit.getPluginManager().registerEvents(new ChatListener(teamManager), this);
-        Bukkit.getPluginManager().registerEvents(new GameListener(gameManager, teamManager), this);
+        Bukkit.getPluginManager().registerEvents(new ChatListener(teamManager, arenaManager), this);
+        Bukkit.getPluginManager().registerEvents(new GameListener(arenaManager, teamManager), this);
         Bukkit.getPluginManager().registerEvents(new ItemListener(customItemManager), this);
         Bukkit.getPluginManager().registerEvents(new ShopListener(shopManager), this);
+
+        // Fill the arena pool once the server has finished starting
+        Bukkit.getScheduler().runTask(this, arenaPool::refill);
+
+        configManager.startWatching();
+    }
+
+    @Override
+    public void onDisable() {
+        if (configManager != null) {
+            configManager.stopWatching();
+        }
+        // Strips zone effects and sends players back to the lobby before worlds are saved
+        if (arenaManager != null) {
+            arenaManager.stopAll();
+        }
+        if (arenaPool != null) {
+            arenaPool.shutdown();
+        }
     }
 
     public CustomItemManager getCustomItemManager() {
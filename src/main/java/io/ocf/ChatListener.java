@@ -11,9 +11,11 @@ import org.bukkit.event.Listener;
 
 public class ChatListener implements Listener {
     private final TeamManager teamManager;
+    private final ArenaManager arenaManager;
 
-    public ChatListener(TeamManager teamManager) {
+    public ChatListener(TeamManager teamManager, ArenaManager arenaManager) {
         this.teamManager = teamManager;
+        this.arenaManager = arenaManager;
     }
 
     @EventHandler(priority = EventPriority.HIGHEST)
@@ -44,14 +46,16 @@ public class ChatListener implements Listener {
         event.setCancelled(true);
 
         if (chatMode == PlayerData.ChatMode.TEAM && team != null) {
-            // Team chat - only send to team members
+            // Team chat - only send to team members in the same arena
             Component teamChatPrefix = Component.text("[Team] ", NamedTextColor.GRAY);
             Component fullMessage = teamChatPrefix.append(prefix).append(playerName)
                     .append(Component.text(": ", NamedTextColor.WHITE))
                     .append(message);
 
             for (PlayerData member : teamManager.getTeamMembers(team)) {
-                member.getPlayer().sendMessage(fullMessage);
+                if (arenaManager.inSameArena(player, member.getPlayer())) {
+                    member.getPlayer().sendMessage(fullMessage);
+                }
             }
             // Also log to console
             Bukkit.getConsoleSender().sendMessage(fullMessage);
@@ -0,0 +1,160 @@
+package io.ocf;
+
+import net.kyori.adventure.bossbar.BossBar;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.format.NamedTextColor;
+import org.bukkit.Chunk;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.WorldBorder;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.bukkit.scheduler.BukkitRunnable;
+
+import java.util.Collection;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Generates every chunk inside a world's border through Paper's async chunk API.
+ * At most {@code maxInFlight} chunk requests are outstanding at any time. Each generated
+ * chunk can be handed to a visitor, and progress can optionally be shown to a set of
+ * players on a boss bar.
+ */
+public class ChunkPregenerator extends BukkitRunnable {
+    private final JavaPlugin plugin;
+    private final World world;
+    private final int maxInFlight;
+    private final Supplier<? extends Collection<? extends Player>> viewers; // null = no progress bar
+    private final Consumer<Chunk> chunkVisitor;
+    private final Runnable onComplete;
+
+    private final int minChunkX;
+    private final int minChunkZ;
+    private final int width;
+    private final int totalChunks;
+
+    private int nextIndex = 0;
+    private int inFlight = 0;
+    private int completed = 0;
+    private boolean cancelled = false;
+    private long startTime;
+
+    private BossBar progressBar;
+
+    public ChunkPregenerator(JavaPlugin plugin, World world, int maxInFlight,
+                             Supplier<? extends Collection<? extends Player>> viewers,
+                             Consumer<Chunk> chunkVisitor, Runnable onComplete) {
+        this.plugin = plugin;
+        this.world = world;
+        this.maxInFlight = Math.max(1, maxInFlight);
+        this.viewers = viewers;
+        this.chunkVisitor = chunkVisitor;
+        this.onComplete = onComplete;
+
+        WorldBorder border = world.getWorldBorder();
+        Location center = border.getCenter();
+        double halfSize = border.getSize() / 2;
+        this.minChunkX = ((int) Math.floor(center.getX() - halfSize)) >> 4;
+        this.minChunkZ = ((int) Math.floor(center.getZ() - halfSize)) >> 4;
+        int maxChunkX = ((int) Math.floor(center.getX() + halfSize)) >> 4;
+        int maxChunkZ = ((int) Math.floor(center.getZ() + halfSize)) >> 4;
+        this.width = maxChunkX - minChunkX + 1;
+        this.totalChunks = width * (maxChunkZ - minChunkZ + 1);
+    }
+
+    public void start() {
+        startTime = System.currentTimeMillis();
+        if (viewers != null) {
+            progressBar = BossBar.bossBar(getProgressTitle(), 0.0f, BossBar.Color.GREEN, BossBar.Overlay.PROGRESS);
+            for (Player player : viewers.get()) {
+                player.showBossBar(progressBar);
+            }
+        }
+        plugin.getLogger().info("Pre-generating " + totalChunks + " chunks in " + world.getName());
+        runTaskTimer(plugin, 0L, 1L);
+    }
+
+    @Override
+    public void run() {
+        if (cancelled) return;
+
+        // Top up outstanding requests to the concurrency limit
+        while (inFlight < maxInFlight && nextIndex < totalChunks) {
+            int chunkX = minChunkX + nextIndex % width;
+            int chunkZ = minChunkZ + nextIndex / width;
+            nextIndex++;
+            inFlight++;
+            world.getChunkAtAsync(chunkX, chunkZ).whenComplete((chunk, error) -> {
+                if (error != null) {
+                    plugin.getLogger().warning("Failed to generate chunk " + chunkX + ", " + chunkZ + ": " + error.getMessage());
+                }
+                onChunkGenerated(chunk);
+            });
+        }
+
+        if (progressBar != null) {
+            progressBar.progress((float) completed / totalChunks);
+            progressBar.name(getProgressTitle());
+        }
+    }
+
+    private void onChunkGenerated(Chunk chunk) {
+        if (cancelled) return;
+
+        if (chunk != null && chunkVisitor != null) {
+            chunkVisitor.accept(chunk);
+        }
+        inFlight--;
+        completed++;
+        if (completed >= totalChunks) {
+            finish();
+        }
+    }
+
+    private void finish() {
+        cancel();
+        hideProgressBar();
+        long elapsed = System.currentTimeMillis() - startTime;
+        plugin.getLogger().info("Pre-generated " + totalChunks + " chunks in " + world.getName() + " (" + elapsed + "ms)");
+        onComplete.run();
+    }
+
+    /**
+     * Stops issuing chunk requests. Requests already in flight complete but are ignored.
+     */
+    public void stop() {
+        if (cancelled) return;
+        cancelled = true;
+        if (!isCancelled()) {
+            cancel();
+        }
+        hideProgressBar();
+    }
+
+    public void showProgressBar(Player player) {
+        if (progressBar != null && !cancelled) {
+            player.showBossBar(progressBar);
+        }
+    }
+
+    public void hideProgressBar(Player player) {
+        if (progressBar != null) {
+            player.hideBossBar(progressBar);
+        }
+    }
+
+    private void hideProgressBar() {
+        if (progressBar == null) return;
+        for (Player player : viewers.get()) {
+            player.hideBossBar(progressBar);
+        }
+        progressBar = null;
+    }
+
+    private Component getProgressTitle() {
+        int percent = totalChunks == 0 ? 100 : (completed * 100) / totalChunks;
+        return Component.text("Generating arena: ", NamedTextColor.WHITE)
+                .append(Component.text(percent + "%", NamedTextColor.GREEN));
+    }
+}
@@ -0,0 +1,138 @@
+package io.ocf;
+
+import org.bukkit.Bukkit;
+import org.bukkit.configuration.InvalidConfigurationException;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.plugin.java.JavaPlugin;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * Owns the current {@link CtfConfig}. A reload validates config.yml before touching
+ * anything, swaps in the new snapshot and then tells the kit, shop and structure
+ * managers to reload, so a broken file leaves the running settings alone. With
+ * {@code watch_config} enabled, saving config.yml reloads it automatically.
+ */
+public class ConfigManager {
+    private static final String FILE_NAME = "config.yml";
+
+    private final JavaPlugin plugin;
+    private final List<Consumer<CtfConfig>> reloadListeners = new ArrayList<>();
+    private final AtomicBoolean reloadPending = new AtomicBoolean(false);
+    private volatile CtfConfig config;
+    private WatchService watchService;
+
+    public ConfigManager(JavaPlugin plugin) {
+        this.plugin = plugin;
+        plugin.saveDefaultConfig();
+        plugin.reloadConfig();
+        this.config = CtfConfig.parse(plugin.getConfig(), plugin.getLogger());
+    }
+
+    /**
+     * The current settings. Callers should not keep the snapshot across ticks, it is
+     * replaced on reload.
+     */
+    public CtfConfig get() {
+        return config;
+    }
+
+    /**
+     * Runs the listener after every successful reload.
+     */
+    public void addReloadListener(Consumer<CtfConfig> listener) {
+        reloadListeners.add(listener);
+    }
+
+    /**
+     * Reloads config.yml. Returns an error message, or null if the reload succeeded.
+     */
+    public String reload() {
+        File file = new File(plugin.getDataFolder(), FILE_NAME);
+        try {
+            // Parse it separately first; reloadConfig() would swallow the error
+            new YamlConfiguration().load(file);
+        } catch (IOException | InvalidConfigurationException e) {
+            plugin.getLogger().warning("Not reloading " + FILE_NAME + ": " + e.getMessage());
+            return e.getMessage();
+        }
+
+        plugin.reloadConfig();
+        CtfConfig reloaded = CtfConfig.parse(plugin.getConfig(), plugin.getLogger());
+        boolean wasWatching = config.watchFile();
+        config = reloaded;
+        for (Consumer<CtfConfig> listener : reloadListeners) {
+            listener.accept(reloaded);
+        }
+
+        if (reloaded.watchFile() != wasWatching) {
+            if (reloaded.watchFile()) {
+                startWatching();
+            } else {
+                stopWatching();
+            }
+        }
+        plugin.getLogger().info("Reloaded " + FILE_NAME);
+        return null;
+    }
+
+    /**
+     * Starts the file watcher if {@code watch_config} is enabled.
+     */
+    public void startWatching() {
+        if (!config.watchFile() || watchService != null) return;
+
+        Path folder = plugin.getDataFolder().toPath();
+        try {
+            watchService = folder.getFileSystem().newWatchService();
+            folder.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+        } catch (IOException e) {
+            plugin.getLogger().warning("Failed to watch " + FILE_NAME + ": " + e.getMessage());
+            watchService = null;
+            return;
+        }
+
+        WatchService service = watchService;
+        Thread thread = new Thread(() -> watch(service), "CTF config watcher");
+        thread.setDaemon(true);
+        thread.start();
+        plugin.getLogger().info("Watching " + FILE_NAME + " for changes");
+    }
+
+    public void stopWatching() {
+        if (watchService == null) return;
+        try {
+            watchService.close();
+        } catch (IOException ignored) {
+        }
+        watchService = null;
+    }
+
+    private void watch(WatchService service) {
+        try {
+            while (true) {
+                WatchKey key = service.take();
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (event.context() instanceof Path path && path.toString().equals(FILE_NAME)) {
+                        // Editors often write a file in several steps; reload once they settle
+                        if (reloadPending.compareAndSet(false, true)) {
+                            Bukkit.getScheduler().runTaskLater(plugin, () -> {
+                                reloadPending.set(false);
+                                reload();
+                            }, 20);
+                        }
+                    }
+                }
+                if (!key.reset()) return;
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // Stopped
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package io.ocf;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.format.NamedTextColor;
+import org.bukkit.entity.Player;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Copper balances of an arena's players and teams. When enabled, copper income is
+ * credited here instead of being handed out as items, and shop purchases are paid from
+ * the player's balance first and their team's balance second. Players only hold copper
+ * ingots after withdrawing them with /wallet.
+ */
+public class CopperWallet {
+    private static final PlayerData.Team[] TEAMS = PlayerData.Team.values();
+
+    private final ConfigManager config;
+    private final Map<UUID, Integer> slots = new HashMap<>();
+    private int[] balances = new int[16];
+    private final int[] teamBalances = new int[TEAMS.length];
+    private boolean enabled = false;
+
+    public CopperWallet(ConfigManager config) {
+        this.config = config;
+    }
+
+    /**
+     * Empties every balance and re-reads whether the wallet is enabled for the next match.
+     */
+    public void reset() {
+        enabled = config.get().walletEnabled();
+        slots.clear();
+        Arrays.fill(balances, 0);
+        Arrays.fill(teamBalances, 0);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public int getBalance(Player player) {
+        Integer slot = slots.get(player.getUniqueId());
+        return slot != null ? balances[slot] : 0;
+    }
+
+    public int getTeamBalance(PlayerData.Team team) {
+        return teamBalances[team.ordinal()];
+    }
+
+    /**
+     * Copper the player can spend: their own balance plus their team's.
+     */
+    public int getSpendable(Player player, PlayerData.Team team) {
+        return getBalance(player) + (team != null ? getTeamBalance(team) : 0);
+    }
+
+    public void credit(Player player, int amount) {
+        balances[slot(player.getUniqueId())] += amount;
+    }
+
+    public void creditTeam(PlayerData.Team team, int amount) {
+        teamBalances[team.ordinal()] += amount;
+    }
+
+    /**
+     * Takes the amount from the player's balance, then from their team's. Returns false
+     * and takes nothing if they can't afford it.
+     */
+    public boolean debit(Player player, PlayerData.Team team, int amount) {
+        if (getSpendable(player, team) < amount) return false;
+
+        int slot = slot(player.getUniqueId());
+        int fromPlayer = Math.min(balances[slot], amount);
+        balances[slot] -= fromPlayer;
+        if (amount > fromPlayer) {
+            teamBalances[team.ordinal()] -= amount - fromPlayer;
+        }
+        return true;
+    }
+
+    /**
+     * Drops the player's own balance, e.g. when they leave the arena.
+     */
+    public void clear(Player player) {
+        Integer slot = slots.get(player.getUniqueId());
+        if (slot != null) {
+            balances[slot] = 0;
+        }
+    }
+
+    /**
+     * Shows the player's balances in their action bar.
+     */
+    public void showHud(Player player, PlayerData.Team team) {
+        Component hud = Component.text("Copper: ", NamedTextColor.GRAY)
+                .append(Component.text(getBalance(player), NamedTextColor.GOLD));
+        if (team != null) {
+            hud = hud.append(Component.text("  Team: ", NamedTextColor.GRAY))
+                    .append(Component.text(getTeamBalance(team), NamedTextColor.GOLD));
+        }
+        player.sendActionBar(hud);
+    }
+
+    private int slot(UUID id) {
+        Integer slot = slots.get(id);
+        if (slot == null) {
+            slot = slots.size();
+            if (slot == balances.length) {
+                balances = Arrays.copyOf(balances, balances.length * 2);
+            }
+            slots.put(id, slot);
+        }
+        return slot;
+    }
+}
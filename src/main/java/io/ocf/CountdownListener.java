@@ -0,0 +1,45 @@
+package io.ocf;
+
+import org.bukkit.Location;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.block.BlockBreakEvent;
+import org.bukkit.event.player.PlayerMoveEvent;
+
+/**
+ * Keeps an arena's players frozen during the countdown. Only registered during COUNTDOWN.
+ */
+public class CountdownListener implements Listener {
+    private final GameManager gameManager;
+
+    public CountdownListener(GameManager gameManager) {
+        this.gameManager = gameManager;
+    }
+
+    @EventHandler(priority = EventPriority.HIGHEST)
+    public void onPlayerMove(PlayerMoveEvent event) {
+        Player player = event.getPlayer();
+
+        // True freeze during countdown - no movement or looking
+        if (gameManager.isFrozen(player)) {
+            Location from = event.getFrom();
+            Location to = event.getTo();
+
+            // Cancel any movement (position or rotation)
+            if (from.getX() != to.getX() || from.getY() != to.getY() || from.getZ() != to.getZ()
+                    || from.getYaw() != to.getYaw() || from.getPitch() != to.getPitch()) {
+                event.setCancelled(true);
+            }
+        }
+    }
+
+    @EventHandler
+    public void onBlockBreak(BlockBreakEvent event) {
+        // Prevent block breaking during countdown
+        if (gameManager.hasPlayer(event.getPlayer())) {
+            event.setCancelled(true);
+        }
+    }
+}
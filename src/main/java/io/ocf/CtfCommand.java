@@ -0,0 +1,46 @@
+package io.ocf;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.format.NamedTextColor;
+import org.bukkit.command.Command;
+import org.bukkit.command.CommandExecutor;
+import org.bukkit.command.CommandSender;
+import org.bukkit.command.TabCompleter;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+
+public class CtfCommand implements CommandExecutor, TabCompleter {
+    private final ConfigManager configManager;
+
+    public CtfCommand(ConfigManager configManager) {
+        this.configManager = configManager;
+    }
+
+    @Override
+    public boolean onCommand(@NotNull CommandSender sender, @NotNull Command command,
+                            @NotNull String label, @NotNull String[] args) {
+        if (args.length != 1 || !args[0].equalsIgnoreCase("reload")) {
+            sender.sendMessage(Component.text("Usage: /ctf reload", NamedTextColor.RED));
+            return true;
+        }
+
+        String error = configManager.reload();
+        if (error != null) {
+            sender.sendMessage(Component.text("config.yml is invalid, keeping the current settings: " + error, NamedTextColor.RED));
+        } else {
+            sender.sendMessage(Component.text("Reloaded config.yml.", NamedTextColor.GREEN));
+        }
+        return true;
+    }
+
+    @Override
+    public @Nullable List<String> onTabComplete(@NotNull CommandSender sender, @NotNull Command command,
+                                                 @NotNull String label, @NotNull String[] args) {
+        if (args.length == 1 && "reload".startsWith(args[0].toLowerCase())) {
+            return List.of("reload");
+        }
+        return List.of();
+    }
+}
@@ -0,0 +1,107 @@
+package io.ocf;
+
+import org.bukkit.WorldType;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.potion.PotionEffect;
+
+import java.util.List;
+import java.util.logging.Logger;
+
+/**
+ * An immutable snapshot of the plugin settings, parsed and validated once per load by
+ * {@link ConfigManager}. Kits, shops and structures are still parsed by their managers,
+ * which reload along with the snapshot.
+ */
+public record CtfConfig(
+        Game game,
+        ArenaPoolSettings arenaPool,
+        ArenaTemplateSettings arenaTemplate,
+        boolean walletEnabled,
+        boolean watchFile,
+        List<ResourceGenerators.Spec> generators,
+        List<PotionEffect[]> zoneTiers
+) {
+    public record Game(
+            String worldName,
+            String worldType,
+            String worldSeed,
+            int attackerSpawnRadius,
+            int defenderSpawnRadius,
+            int attackerRespawnCooldownSeconds,
+            int defenderRespawnCooldownSeconds,
+            int durationMinutes,
+            int attackerCopperRateSeconds,
+            int flagLocationMaxAttempts,
+            int countdownSeconds,
+            int pregenMaxChunksInFlight,
+            int structureBlocksPerTick,
+            int particleBudgetPerTick,
+            double particleViewDistance
+    ) {}
+
+    public record ArenaPoolSettings(int size, int borderSize, int maxChunksInFlight, long maxMemoryMb) {}
+
+    public record ArenaTemplateSettings(boolean enabled) {}
+
+    public static CtfConfig parse(ConfigurationSection config, Logger logger) {
+        Parser p = new Parser(config, logger);
+
+        String worldType = config.getString("game.world_type", "NORMAL").toUpperCase();
+        try {
+            WorldType.valueOf(worldType);
+        } catch (IllegalArgumentException e) {
+            logger.warning("Invalid game.world_type " + worldType + ", using NORMAL");
+            worldType = "NORMAL";
+        }
+
+        Game game = new Game(
+                config.getString("game.world_name", "ctf_arena"),
+                worldType,
+                config.getString("game.world_seed", ""),
+                p.atLeast("game.attacker_spawn_radius", 50, 1),
+                p.atLeast("game.defender_spawn_radius", 20, 1),
+                p.atLeast("game.attacker_respawn_cooldown_seconds", 10, 0),
+                p.atLeast("game.defender_respawn_cooldown_seconds", 10, 0),
+                p.atLeast("game.duration_minutes", 30, 1),
+                p.atLeast("game.attacker_copper_rate_seconds", 5, 1),
+                p.atLeast("game.flag_location_max_attempts", 1000, 1),
+                p.atLeast("game.countdown_seconds", 5, 0),
+                p.atLeast("game.pregen_max_chunks_in_flight", 16, 1),
+                p.atLeast("game.structure_blocks_per_tick", 4096, 1),
+                p.atLeast("game.particle_budget_per_tick", 2000, 0),
+                Math.max(0, config.getDouble("game.particle_view_distance", 32))
+        );
+
+        ArenaPoolSettings arenaPool = new ArenaPoolSettings(
+                p.atLeast("arena_pool.size", 1, 0),
+                p.atLeast("arena_pool.border_size", 500, 1),
+                p.atLeast("arena_pool.max_chunks_in_flight", 4, 1),
+                Math.max(0, config.getLong("arena_pool.max_memory_mb", 4096))
+        );
+
+        ArenaTemplateSettings arenaTemplate = new ArenaTemplateSettings(
+                config.getBoolean("arena_template.enabled", false)
+        );
+
+        return new CtfConfig(
+                game,
+                arenaPool,
+                arenaTemplate,
+                config.getBoolean("wallet.enabled", false),
+                config.getBoolean("watch_config", false),
+                List.copyOf(ResourceGenerators.parseSpecs(config.getList("generators"), logger)),
+                List.copyOf(ZoneEffects.parseTiers(config.getList("zone_effects.tiers"), logger))
+        );
+    }
+
+    private record Parser(ConfigurationSection config, Logger logger) {
+        int atLeast(String path, int def, int min) {
+            int value = config.getInt(path, def);
+            if (value < min) {
+                logger.warning(path + " must be at least " + min + ", using " + def);
+                return def;
+            }
+            return value;
+        }
+    }
+}
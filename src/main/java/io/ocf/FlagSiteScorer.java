@@ -0,0 +1,153 @@
+package io.ocf;
+
+import org.bukkit.Material;
+import org.bukkit.Tag;
+
+import java.util.Comparator;
+import java.util.Objects;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Picks the flag site by scoring candidate columns in one quadrant of the arena.
+ * Scoring only reads the arena heightmap, so it runs in parallel on the common
+ * fork-join pool and the main thread only has to place the winner.
+ */
+public class FlagSiteScorer {
+    private static final int PLATFORM_RADIUS = 2;
+    private static final int EXPOSURE_RADIUS = 8;
+    private static final int EXPOSURE_SAMPLES = 16;
+    private static final int FLUID_RADIUS = 6;
+
+    private static final double FLATNESS_WEIGHT = 3.0;
+    private static final double EXPOSURE_WEIGHT = 1.0;
+    private static final double FLUID_WEIGHT = 0.5;
+    private static final double DISTANCE_WEIGHT = 20.0;
+
+    /**
+     * A scored site; {@code y} is the highest block of the column.
+     */
+    public record Site(int x, int y, int z, double score) {}
+
+    private final ArenaHeightmap heightmap;
+    private final int centerX;
+    private final int centerZ;
+    private final int halfSize;
+    private final int xSign;
+    private final int zSign;
+    private final int candidateCount;
+    private final long seed;
+
+    public FlagSiteScorer(ArenaHeightmap heightmap, int centerX, int centerZ, int borderSize, int candidateCount) {
+        this.heightmap = heightmap;
+        this.centerX = centerX;
+        this.centerZ = centerZ;
+        this.halfSize = borderSize / 2;
+        this.candidateCount = Math.max(1, candidateCount);
+
+        // Choose a random quadrant
+        Random random = new Random();
+        int quadrant = random.nextInt(4);
+        this.xSign = (quadrant % 2 == 0) ? 1 : -1;
+        this.zSign = (quadrant < 2) ? 1 : -1;
+        this.seed = random.nextLong();
+    }
+
+    public CompletableFuture<Site> scoreAsync() {
+        return CompletableFuture.supplyAsync(this::findBest, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * The site to use if no candidate is valid: the middle of the chosen quadrant.
+     */
+    public Site getFallback() {
+        int x = centerX + xSign * (halfSize / 2);
+        int z = centerZ + zSign * (halfSize / 2);
+        return new Site(x, heightmap.getHighestBlockY(x, z), z, Double.NEGATIVE_INFINITY);
+    }
+
+    private Site findBest() {
+        // Random locations within the chosen quadrant
+        Random random = new Random(seed);
+        int[] xs = new int[candidateCount];
+        int[] zs = new int[candidateCount];
+        int spread = Math.max(1, halfSize / 2);
+        for (int i = 0; i < candidateCount; i++) {
+            xs[i] = centerX + xSign * (random.nextInt(spread) + halfSize / 4);
+            zs[i] = centerZ + zSign * (random.nextInt(spread) + halfSize / 4);
+        }
+
+        return IntStream.range(0, candidateCount).parallel()
+                .mapToObj(i -> score(xs[i], zs[i]))
+                .filter(Objects::nonNull)
+                .max(Comparator.comparingDouble(Site::score))
+                .orElse(null);
+    }
+
+    private Site score(int x, int z) {
+        Material surface = heightmap.getCachedSurfaceType(x, z);
+        if (surface == null || !isValidSurface(surface)) return null;
+        int y = heightmap.getCachedHighestBlockY(x, z);
+
+        // Flatness: height range under the platform footprint
+        int min = y;
+        int max = y;
+        for (int dx = -PLATFORM_RADIUS; dx <= PLATFORM_RADIUS; dx++) {
+            for (int dz = -PLATFORM_RADIUS; dz <= PLATFORM_RADIUS; dz++) {
+                int h = heightmap.getCachedHighestBlockY(x + dx, z + dz);
+                if (h == ArenaHeightmap.NOT_CACHED) return null;
+                min = Math.min(min, h);
+                max = Math.max(max, h);
+            }
+        }
+        double flatness = max - min;
+
+        // Exposure: how far the site sits above (or below) its surroundings
+        double heightDifference = 0;
+        int samples = 0;
+        for (int i = 0; i < EXPOSURE_SAMPLES; i++) {
+            double angle = i * 2 * Math.PI / EXPOSURE_SAMPLES;
+            int h = heightmap.getCachedHighestBlockY(
+                    x + (int) Math.round(EXPOSURE_RADIUS * Math.cos(angle)),
+                    z + (int) Math.round(EXPOSURE_RADIUS * Math.sin(angle)));
+            if (h == ArenaHeightmap.NOT_CACHED) continue;
+            heightDifference += y - h;
+            samples++;
+        }
+        double exposure = samples == 0 ? 0 : Math.abs(heightDifference / samples);
+
+        // Fluid proximity: water and lava columns around the site
+        int fluids = 0;
+        for (int dx = -FLUID_RADIUS; dx <= FLUID_RADIUS; dx++) {
+            for (int dz = -FLUID_RADIUS; dz <= FLUID_RADIUS; dz++) {
+                Material type = heightmap.getCachedSurfaceType(x + dx, z + dz);
+                if (type == Material.WATER || type == Material.LAVA) {
+                    fluids++;
+                }
+            }
+        }
+
+        // Distance to the attacker quadrant, relative to the distance between quadrant centers
+        double attackerX = centerX - xSign * (halfSize / 2.0);
+        double attackerZ = centerZ - zSign * (halfSize / 2.0);
+        double nominal = Math.max(1, halfSize * Math.sqrt(2));
+        double distance = Math.hypot(x - attackerX, z - attackerZ);
+        double distanceDeviation = Math.abs(distance - nominal) / nominal;
+
+        double score = -(flatness * FLATNESS_WEIGHT
+                + exposure * EXPOSURE_WEIGHT
+                + fluids * FLUID_WEIGHT
+                + distanceDeviation * DISTANCE_WEIGHT);
+        return new Site(x, y, z, score);
+    }
+
+    private boolean isValidSurface(Material type) {
+        // Avoid water, lava, and tree blocks (leaves and logs)
+        if (type == Material.WATER || type == Material.LAVA) {
+            return false;
+        }
+        return !Tag.LEAVES.isTagged(type) && !Tag.LOGS.isTagged(type);
+    }
+}
@@ -2,7 +2,6 @@ package io.ocf;
 
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.format.NamedTextColor;
-import org.bukkit.Bukkit;
 import org.bukkit.command.Command;
 import org.bukkit.command.CommandExecutor;
 import org.bukkit.command.CommandSender;
@@ -16,35 +15,53 @@ import java.util.List;
 import java.util.stream.Collectors;
 
 public class GameCommand implements CommandExecutor, TabCompleter {
-    private final GameManager gameManager;
+    private final ArenaManager arenaManager;
 
-    public GameCommand(GameManager gameManager) {
-        this.gameManager = gameManager;
+    public GameCommand(ArenaManager arenaManager) {
+        this.arenaManager = arenaManager;
     }
 
     @Override
     public boolean onCommand(@NotNull CommandSender sender, @NotNull Command command,
                             @NotNull String label, @NotNull String[] args) {
         if (args.length < 1) {
-            sender.sendMessage(Component.text("Usage: /game <init|start|stop>", NamedTextColor.RED));
+            sender.sendMessage(Component.text("Usage: /game <init|start|stop> [...] [arena]", NamedTextColor.RED));
             return true;
         }
 
         String subCommand = args[0].toLowerCase();
 
+        // The arena is the optional last argument, otherwise the sender's arena
+        int arenaIndex = subCommand.equals("init") ? 2 : 1;
+        GameManager gameManager = resolveArena(sender, args, arenaIndex);
+        if (gameManager == null) {
+            sender.sendMessage(Component.text("Unknown arena: " + args[arenaIndex], NamedTextColor.RED));
+            return true;
+        }
+
         switch (subCommand) {
-            case "init" -> handleInit(sender, args);
-            case "start" -> handleStart(sender);
-            case "stop" -> handleStop(sender);
+            case "init" -> handleInit(sender, gameManager, args);
+            case "start" -> handleStart(sender, gameManager);
+            case "stop" -> handleStop(sender, gameManager);
             default -> sender.sendMessage(Component.text("Unknown subcommand. Use: init, start, stop", NamedTextColor.RED));
         }
 
         return true;
     }
 
-    private void handleInit(CommandSender sender, String[] args) {
+    private GameManager resolveArena(CommandSender sender, String[] args, int index) {
+        if (args.length > index) {
+            return arenaManager.getArena(args[index]);
+        }
+        if (sender instanceof Player player) {
+            return arenaManager.getArena(player);
+        }
+        return arenaManager.getDefaultArena();
+    }
+
+    private void handleInit(CommandSender sender, GameManager gameManager, String[] args) {
         if (args.length < 2) {
-            sender.sendMessage(Component.text("Usage: /game init <border_size>", NamedTextColor.RED));
+            sender.sendMessage(Component.text("Usage: /game init <border_size> [arena]", NamedTextColor.RED));
             return;
         }
 
@@ -66,20 +83,25 @@ public class GameCommand implements CommandExecutor, TabCompleter {
         }
 
         if (gameManager.init(borderSize)) {
-            Bukkit.broadcast(Component.text("Game initialized! ", NamedTextColor.GREEN)
+            gameManager.broadcast(Component.text("Game initialized! ", NamedTextColor.GREEN)
                     .append(Component.text("World border set to " + borderSize + " blocks.", NamedTextColor.YELLOW)));
-            Bukkit.broadcast(Component.text("Use /team to join a team and /kit to select a kit.", NamedTextColor.AQUA));
+            gameManager.broadcast(Component.text("Use /team to join a team and /kit to select a kit.", NamedTextColor.AQUA));
         } else {
             sender.sendMessage(Component.text("Failed to initialize game!", NamedTextColor.RED));
         }
     }
 
-    private void handleStart(CommandSender sender) {
+    private void handleStart(CommandSender sender, GameManager gameManager) {
         if (gameManager.getState() != GameManager.GameState.INIT) {
             sender.sendMessage(Component.text("Game must be initialized first! Use /game init <border_size>", NamedTextColor.RED));
             return;
         }
 
+        if (gameManager.isGenerating()) {
+            sender.sendMessage(Component.text("The game world is still generating! Please wait.", NamedTextColor.RED));
+            return;
+        }
+
         // Check all players are ready
         List<Player> unready = gameManager.getUnreadyPlayers();
         if (!unready.isEmpty()) {
@@ -91,13 +113,13 @@ public class GameCommand implements CommandExecutor, TabCompleter {
         }
 
         if (gameManager.start()) {
-            Bukkit.broadcast(Component.text("Game starting!", NamedTextColor.GREEN));
+            gameManager.broadcast(Component.text("Game starting!", NamedTextColor.GREEN));
         } else {
             sender.sendMessage(Component.text("Failed to start game!", NamedTextColor.RED));
         }
     }
 
-    private void handleStop(CommandSender sender) {
+    private void handleStop(CommandSender sender, GameManager gameManager) {
         if (gameManager.getState() == GameManager.GameState.IDLE) {
             sender.sendMessage(Component.text("No game is currently running!", NamedTextColor.RED));
             return;
@@ -117,6 +139,13 @@ public class GameCommand implements CommandExecutor, TabCompleter {
         if (args.length == 2 && args[0].equalsIgnoreCase("init")) {
             return List.of("100", "200", "500");
         }
+        int arenaIndex = args[0].equalsIgnoreCase("init") ? 3 : 2;
+        if (args.length == arenaIndex) {
+            return arenaManager.getArenas().stream()
+                    .map(GameManager::getName)
+                    .filter(s -> s.startsWith(args[arenaIndex - 1].toLowerCase()))
+                    .collect(Collectors.toList());
+        }
         return List.of();
     }
 }
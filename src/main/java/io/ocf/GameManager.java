@@ -10,45 +10,60 @@ import org.bukkit.*;
 import org.bukkit.block.Block;
 import org.bukkit.entity.Player;
 import org.bukkit.plugin.java.JavaPlugin;
-import org.bukkit.potion.PotionEffect;
-import org.bukkit.potion.PotionEffectType;
-import org.bukkit.scheduler.BukkitRunnable;
-import org.bukkit.scheduler.BukkitTask;
 
-import java.io.File;
 import java.time.Duration;
 import java.util.*;
 
+/**
+ * One arena: its world, players and the match played in it. Arenas are created by
+ * {@link ArenaManager}; everything here only affects the players of this arena.
+ */
 public class GameManager {
     private final JavaPlugin plugin;
+    private final ConfigManager config;
+    private final String name;
+    private final String worldName;
+    private final Set<UUID> players = new HashSet<>();
     private final TeamManager teamManager;
     private final KitManager kitManager;
+    private final ArenaWorldFactory worldFactory;
+    private final ArenaPool arenaPool;
+    private final StructureStamper structureStamper;
+    private final ParticleRenderer particleRenderer;
+    private final MatchTicker matchTicker;
     private GameState state = GameState.IDLE;
     private World gameWorld;
     private World lobbyWorld;
+    private ArenaHeightmap heightmap;
     private int borderSize;
     private Location flagLocation;
     private Location attackerSpawnCenter;
     private int attackerSpawnRadius;
+    private SpawnCandidates defenderSpawns;
+    private SpawnCandidates attackerSpawns;
     private final Set<UUID> frozenPlayers = new HashSet<>();
     private final Set<UUID> pendingPlayers = new HashSet<>();
-    private final Map<UUID, BukkitRunnable> respawnTasks = new HashMap<>();
-
-    // Zone effect levels (upgradeable for future defender purchases)
-    private int defenderRegenLevel = 1;
+    private final RespawnScheduler respawnScheduler;
+    private final PlayerGrid playerGrid;
+    private ChunkPregenerator pregenerator;
+    private boolean preparingWorld = false;
+    private int arenaGeneration = 0;
+    private FlagSiteScorer.Site flagSite;
+    private boolean scoringFlagSite = false;
+
+    // Zone effect tiers (upgradeable through defender purchases)
+    private final ZoneEffects zoneEffects;
+    private final ZoneTracker zoneTracker;
+    private final PhaseListeners phaseListeners;
+    private final ProtectedBlocks protectedBlocks = new ProtectedBlocks();
+    private final CopperWallet wallet;
+    private final ResourceGenerators resourceGenerators;
     private int defenderSpawnRadius;
 
-    // Zone tasks
-    private BukkitTask beamParticleTask;
-    private BukkitTask zoneEffectsTask;
-    private BukkitTask attackerSpawnerTask;
-    private BukkitTask defenderSpawnerTask;
-
     // Timer
     private BossBar timerBar;
     private int remainingSeconds;
     private int totalSeconds;
-    private BukkitTask timerTask;
 
     public enum GameState {
         IDLE,       // No game active
@@ -57,16 +72,45 @@ public class GameManager {
         RUNNING,    // Game in progress
     }
 
-    public GameManager(JavaPlugin plugin, TeamManager teamManager, KitManager kitManager) {
+    public GameManager(JavaPlugin plugin, ConfigManager config, String name, String worldName, TeamManager teamManager, KitManager kitManager,
+                       ArenaWorldFactory worldFactory, ArenaPool arenaPool, StructureStamper structureStamper) {
         this.plugin = plugin;
+        this.config = config;
+        this.name = name;
+        this.worldName = worldName;
         this.teamManager = teamManager;
         this.kitManager = kitManager;
+        this.worldFactory = worldFactory;
+        this.arenaPool = arenaPool;
+        this.structureStamper = structureStamper;
+        this.playerGrid = new PlayerGrid(teamManager);
+        this.particleRenderer = new ParticleRenderer(config, playerGrid);
+        this.matchTicker = new MatchTicker(plugin);
+        this.respawnScheduler = new RespawnScheduler(player -> respawnPlayer(player, teamManager.getPlayerData(player)));
+        this.zoneEffects = new ZoneEffects(config);
+        this.zoneTracker = new ZoneTracker(teamManager);
+        this.phaseListeners = new PhaseListeners(plugin);
+        this.wallet = new CopperWallet(config);
+        this.resourceGenerators = new ResourceGenerators(plugin, this::creditTeam);
+    }
+
+    public String getName() {
+        return name;
     }
 
     public GameState getState() {
         return state;
     }
 
+    public PhaseListeners getPhaseListeners() {
+        return phaseListeners;
+    }
+
+    private void setState(GameState state) {
+        this.state = state;
+        phaseListeners.enter(state);
+    }
+
     public boolean init(int borderSize) {
         if (state != GameState.IDLE) {
             return false;
@@ -76,12 +120,19 @@ public class GameManager {
         
         // Store the lobby world (first/main world)
         this.lobbyWorld = Bukkit.getWorlds().get(0);
-        
-        // Get config values
-        String worldName = plugin.getConfig().getString("game.world_name", "ctf_arena");
-        String worldTypeStr = plugin.getConfig().getString("game.world_type", "NORMAL");
-        String seedStr = plugin.getConfig().getString("game.world_seed", "");
-        
+
+        // Claim a pre-generated arena from the pool if one is ready
+        ArenaPool.PooledArena pooledArena = arenaPool.claim(borderSize);
+        if (pooledArena != null) {
+            this.gameWorld = pooledArena.world();
+            this.heightmap = pooledArena.heightmap();
+            worldFactory.configureWorld(gameWorld, borderSize);
+            teleportToArena();
+            setState(GameState.INIT);
+            scoreFlagSite(++arenaGeneration, null);
+            return true;
+        }
+
         // Delete existing game world if present
         World existingWorld = Bukkit.getWorld(worldName);
         if (existingWorld != null) {
@@ -89,60 +140,116 @@ public class GameManager {
             for (Player player : existingWorld.getPlayers()) {
                 player.teleport(lobbyWorld.getSpawnLocation());
             }
-            Bukkit.unloadWorld(existingWorld, false);
-            deleteWorldFolder(new File(Bukkit.getWorldContainer(), worldName));
-        }
-        
-        // Create new world
-        WorldCreator creator = new WorldCreator(worldName);
-        
-        // Set world type
-        try {
-            WorldType worldType = WorldType.valueOf(worldTypeStr.toUpperCase());
-            creator.type(worldType);
-        } catch (IllegalArgumentException e) {
-            creator.type(WorldType.NORMAL);
-        }
-        
-        // Set seed if provided
-        if (!seedStr.isEmpty()) {
-            try {
-                creator.seed(Long.parseLong(seedStr));
-            } catch (NumberFormatException e) {
-                creator.seed(seedStr.hashCode());
-            }
-        } else {
-            creator.seed(new Random().nextLong());
+            worldFactory.deleteWorld(existingWorld);
         }
         
         // Create the world
-        Bukkit.broadcast(Component.text("Generating game world...", NamedTextColor.YELLOW));
-        this.gameWorld = creator.createWorld();
-        
-        if (gameWorld == null) {
-            plugin.getLogger().severe("Failed to create game world!");
-            return false;
-        }
+        broadcast(Component.text("Generating game world...", NamedTextColor.YELLOW));
+        setState(GameState.INIT);
+        this.preparingWorld = true;
+        int generation = ++arenaGeneration;
+        worldFactory.prepareWorld(worldName, borderSize, this::getPlayers, (world, templateHeightmap) -> {
+            if (generation != arenaGeneration) {
+                // The game was stopped while the world was being prepared
+                if (world != null) {
+                    worldFactory.deleteWorld(world);
+                }
+                return;
+            }
+            preparingWorld = false;
 
-        // Set world border
-        WorldBorder border = gameWorld.getWorldBorder();
-        border.setCenter(0, 0);
-        border.setSize(borderSize);
+            if (world == null) {
+                plugin.getLogger().severe("Failed to create game world!");
+                broadcast(Component.text("Failed to create the game world!", NamedTextColor.RED));
+                setState(GameState.IDLE);
+                return;
+            }
 
-        gameWorld.setGameRule(GameRules.ADVANCE_TIME, false);
-        gameWorld.setGameRule(GameRules.ADVANCE_WEATHER, false);
-        gameWorld.setDifficulty(Difficulty.PEACEFUL);
-        gameWorld.setTime(6000); // Set to noon
-        
+            gameWorld = world;
+            worldFactory.configureWorld(gameWorld, borderSize);
+            if (templateHeightmap != null) {
+                // Cloned from a template, whose chunks and heightmap were generated already
+                heightmap = templateHeightmap;
+                teleportToArena();
+                scoreFlagSite(generation, () -> broadcast(Component.text("Game world is ready! ", NamedTextColor.GREEN)
+                        .append(Component.text("The game can now be started.", NamedTextColor.YELLOW))));
+            } else {
+                teleportToArena();
+                startPregeneration();
+            }
+        });
+        return state == GameState.INIT;
+    }
+
+    private void startPregeneration() {
+        // Generate every chunk inside the border before the game can start
+        int maxInFlight = config.get().game().pregenMaxChunksInFlight();
+        heightmap = new ArenaHeightmap(gameWorld);
+        int generation = arenaGeneration;
+        pregenerator = new ChunkPregenerator(plugin, gameWorld, maxInFlight, this::getPlayers, heightmap::sample, () -> {
+            pregenerator = null;
+            scoreFlagSite(generation, () -> broadcast(Component.text("Game world is ready! ", NamedTextColor.GREEN)
+                    .append(Component.text("The game can now be started.", NamedTextColor.YELLOW))));
+        });
+        pregenerator.start();
+    }
+
+    private void scoreFlagSite(int generation, Runnable onScored) {
+        // Score candidate flag sites off the main thread; start() only has to place the winner
+        int candidates = config.get().game().flagLocationMaxAttempts();
+        Location center = gameWorld.getWorldBorder().getCenter();
+        FlagSiteScorer scorer = new FlagSiteScorer(heightmap, (int) center.getX(), (int) center.getZ(), borderSize, candidates);
+
+        scoringFlagSite = true;
+        long startTime = System.currentTimeMillis();
+        scorer.scoreAsync().whenComplete((site, error) -> Bukkit.getScheduler().runTask(plugin, () -> {
+            if (generation != arenaGeneration) {
+                // The game was stopped while scoring
+                return;
+            }
+            scoringFlagSite = false;
+
+            if (error != null) {
+                plugin.getLogger().warning("Flag site scoring failed: " + error.getMessage());
+            }
+            if (site == null) {
+                // Fallback location if no valid spot found
+                flagSite = scorer.getFallback();
+            } else {
+                flagSite = site;
+            }
+            plugin.getLogger().info("Scored " + candidates + " flag sites in "
+                    + (System.currentTimeMillis() - startTime) + "ms");
+
+            if (onScored != null) {
+                onScored.run();
+            }
+        }));
+    }
+
+    private void teleportToArena() {
         // Teleport all players to game world and reset them
-        Location spawnLoc = new Location(gameWorld, 0.5, gameWorld.getHighestBlockYAt(0, 0) + 1, 0.5);
-        for (Player player : Bukkit.getOnlinePlayers()) {
+        Location spawnLoc = getArenaSpawn();
+        for (Player player : getPlayers()) {
             player.teleport(spawnLoc);
             resetPlayer(player);
         }
+    }
 
-        this.state = GameState.INIT;
-        return true;
+    private Location getArenaSpawn() {
+        // The heightmap is still empty until pre-generation reaches the center column
+        int y = heightmap != null ? heightmap.getHighestBlockY(0, 0) : gameWorld.getHighestBlockYAt(0, 0);
+        return new Location(gameWorld, 0.5, y + 1, 0.5);
+    }
+
+    public boolean isGenerating() {
+        return preparingWorld || pregenerator != null || scoringFlagSite;
+    }
+
+    public void showGenerationProgress(Player player) {
+        if (pregenerator != null) {
+            pregenerator.showProgressBar(player);
+        }
     }
 
     public void resetPlayer(Player player) {
@@ -166,7 +273,7 @@ public class GameManager {
 
     public List<Player> getUnreadyPlayers() {
         List<Player> unready = new ArrayList<>();
-        for (Player player : Bukkit.getOnlinePlayers()) {
+        for (Player player : getPlayers()) {
             PlayerData data = teamManager.getPlayerData(player);
             if (!data.isReady()) {
                 unready.add(player);
@@ -176,10 +283,15 @@ public class GameManager {
     }
 
     public boolean start() {
-        if (state != GameState.INIT) {
+        if (state != GameState.INIT || isGenerating()) {
             return false;
         }
 
+        // Platforms and the flag are added as they are placed
+        protectedBlocks.reset(gameWorld);
+        zoneEffects.reset();
+        wallet.reset();
+
         // Find flag location
         flagLocation = findFlagLocation();
         if (flagLocation == null) {
@@ -188,25 +300,31 @@ public class GameManager {
 
         // Place the flag (ancient_debris)
         flagLocation.getBlock().setType(Material.ANCIENT_DEBRIS);
+        protectedBlocks.add(flagLocation.getBlockX(), flagLocation.getBlockY(), flagLocation.getBlockZ(),
+                ProtectedBlocks.Kind.OBJECTIVE);
+        heightmap.update(flagLocation.getBlockX(), flagLocation.getBlockY(), flagLocation.getBlockZ(), Material.ANCIENT_DEBRIS);
 
         // Calculate attacker spawn (opposite quadrant)
         attackerSpawnCenter = calculateOppositeQuadrant(flagLocation);
 
         // Get config values
-        defenderSpawnRadius = plugin.getConfig().getInt("game.defender_spawn_radius", 20);
-        attackerSpawnRadius = plugin.getConfig().getInt("game.attacker_spawn_radius", 50);
+        defenderSpawnRadius = config.get().game().defenderSpawnRadius();
+        attackerSpawnRadius = config.get().game().attackerSpawnRadius();
 
         // Create 5x5 stone brick platform at attacker spawn center
         createPlatform(attackerSpawnCenter);
 
+        // Precompute validated spawn points for both teams
+        buildSpawnCandidates();
+
         // Teleport players to their spawns
-        for (Player player : Bukkit.getOnlinePlayers()) {
+        for (Player player : getPlayers()) {
             PlayerData data = teamManager.getPlayerData(player);
             if (data.getTeam() == PlayerData.Team.DEFENDERS) {
-                Location spawn = getRandomSpawnAround(flagLocation, defenderSpawnRadius);
+                Location spawn = getDefenderSpawn();
                 player.teleport(spawn);
             } else if (data.getTeam() == PlayerData.Team.ATTACKERS) {
-                Location spawn = getSpawnOnPerimeter(attackerSpawnCenter, attackerSpawnRadius);
+                Location spawn = getAttackerSpawn();
                 player.teleport(spawn);
                 player.setRespawnLocation(spawn, true);
             }
@@ -218,70 +336,24 @@ public class GameManager {
         gameWorld.setDifficulty(Difficulty.NORMAL);
 
         // Start countdown
-        state = GameState.COUNTDOWN;
+        setState(GameState.COUNTDOWN);
+        matchTicker.start();
         startCountdown();
 
         return true;
     }
 
     private Location findFlagLocation() {
-        int maxAttempts = plugin.getConfig().getInt("game.flag_location_max_attempts", 100);
-        Location center = gameWorld.getWorldBorder().getCenter();
-        int halfSize = borderSize / 2;
-        Random random = new Random();
-
-        // Choose a random quadrant
-        int quadrant = random.nextInt(4);
-        int xSign = (quadrant % 2 == 0) ? 1 : -1;
-        int zSign = (quadrant < 2) ? 1 : -1;
-
-        int selectedX = 0, selectedZ = 0;
-        boolean foundValid = false;
-
-        for (int attempt = 0; attempt < maxAttempts; attempt++) {
-            // Random location within the chosen quadrant
-            int x = (int) center.getX() + xSign * (random.nextInt(halfSize / 2) + halfSize / 4);
-            int z = (int) center.getZ() + zSign * (random.nextInt(halfSize / 2) + halfSize / 4);
-
-            Block highestBlock = gameWorld.getHighestBlockAt(x, z);
-
-            if (isValidSpawnBlock(highestBlock.getType())) {
-                selectedX = x;
-                selectedZ = z;
-                foundValid = true;
-                break;
-            }
-        }
-
-        // Fallback location if no valid spot found
-        if (!foundValid) {
-            selectedX = (int) center.getX() + xSign * (halfSize / 2);
-            selectedZ = (int) center.getZ() + zSign * (halfSize / 2);
-        }
-
-        Block highestBlock = gameWorld.getHighestBlockAt(selectedX, selectedZ);
-        Location platformLoc = highestBlock.getLocation().add(0, 1, 0);
-
-        // Always create 5x5 stone brick platform
-        for (int dx = -2; dx <= 2; dx++) {
-            for (int dz = -2; dz <= 2; dz++) {
-                platformLoc.clone().add(dx, 0, dz).getBlock().setType(Material.STONE_BRICKS);
-            }
+        if (flagSite == null) {
+            return null;
         }
+        Location platformLoc = new Location(gameWorld, flagSite.x(), flagSite.y() + 1, flagSite.z());
 
-        return platformLoc.add(0, 1, 0);
-    }
+        // Always create the flag platform, the flag stands on top of it
+        Location flagLoc = platformLoc.add(0, 1, 0);
+        createPlatform(flagLoc);
 
-    private boolean isValidSpawnBlock(Material type) {
-        // Avoid water, lava, and tree blocks (leaves and logs)
-        if (type == Material.WATER || type == Material.LAVA) {
-            return false;
-        }
-        String name = type.name();
-        if (name.contains("LEAVES") || name.contains("LOG") || name.contains("WOOD")) {
-            return false;
-        }
-        return true;
+        return flagLoc;
     }
 
     private Location calculateOppositeQuadrant(Location flagLoc) {
@@ -295,239 +367,153 @@ public class GameManager {
         int x = (int) center.getX() + xSign * (halfSize / 2);
         int z = (int) center.getZ() + zSign * (halfSize / 2);
 
-        Block highestBlock = gameWorld.getHighestBlockAt(x, z);
-        return highestBlock.getLocation().add(0, 1, 0);
+        return heightmap.getSurfaceLocation(x, z).add(0, 1, 0);
     }
 
-    private Location getRandomSpawnAround(Location center, int radius) {
-        Random random = new Random();
-        for (int attempt = 0; attempt < 50; attempt++) {
-            int x = (int) center.getX() + random.nextInt(radius * 2) - radius;
-            int z = (int) center.getZ() + random.nextInt(radius * 2) - radius;
-            Block highestBlock = gameWorld.getHighestBlockAt(x, z);
-
-            if (highestBlock.getType() != Material.WATER && highestBlock.getType() != Material.LAVA) {
-                return highestBlock.getLocation().add(0.5, 1, 0.5);
-            }
+    private void buildSpawnCandidates() {
+        defenderSpawns = SpawnCandidates.around(heightmap, flagLocation, defenderSpawnRadius);
+        if (defenderSpawns.isEmpty()) {
+            // Fallback to the flag itself
+            defenderSpawns.add(flagLocation.getBlockX(), flagLocation.getBlockZ());
         }
-        // Fallback to center
-        return center.clone().add(0.5, 1, 0.5);
-    }
-
-    private Location getSpawnOnPerimeter(Location center, int radius) {
-        Random random = new Random();
-        // Try multiple angles around the perimeter
-        double startAngle = random.nextDouble() * 2 * Math.PI;
-        for (int attempt = 0; attempt < 36; attempt++) {
-            double angle = startAngle + (attempt * Math.PI / 18); // Try every 10 degrees
-            int x = (int) (center.getX() + radius * Math.cos(angle));
-            int z = (int) (center.getZ() + radius * Math.sin(angle));
-            Block highestBlock = gameWorld.getHighestBlockAt(x, z);
-
-            if (highestBlock.getType() != Material.WATER && highestBlock.getType() != Material.LAVA) {
-                return highestBlock.getLocation().add(0.5, 1, 0.5);
-            }
+
+        attackerSpawns = SpawnCandidates.onPerimeter(heightmap, attackerSpawnCenter, attackerSpawnRadius);
+        if (attackerSpawns.isEmpty()) {
+            // Fallback: create platform on the perimeter
+            double angle = new Random().nextDouble() * 2 * Math.PI;
+            int x = (int) (attackerSpawnCenter.getX() + attackerSpawnRadius * Math.cos(angle));
+            int z = (int) (attackerSpawnCenter.getZ() + attackerSpawnRadius * Math.sin(angle));
+            Location platformLoc = heightmap.getSurfaceLocation(x, z).add(0, 1, 0);
+            createPlatform(platformLoc);
+            attackerSpawns.add(x, z);
         }
-        // Fallback: create platform at first angle
-        int x = (int) (center.getX() + radius * Math.cos(startAngle));
-        int z = (int) (center.getZ() + radius * Math.sin(startAngle));
-        Block highestBlock = gameWorld.getHighestBlockAt(x, z);
-        Location platformLoc = highestBlock.getLocation().add(0, 1, 0);
-        createPlatform(platformLoc);
-        return platformLoc.add(0, 1, 0);
+
+        plugin.getLogger().info("Spawn candidates: " + defenderSpawns.size() + " defender, "
+                + attackerSpawns.size() + " attacker");
     }
 
-    private void createPlatform(Location center) {
-        for (int dx = -2; dx <= 2; dx++) {
-            for (int dz = -2; dz <= 2; dz++) {
-                center.clone().add(dx, -1, dz).getBlock().setType(Material.STONE_BRICKS);
-            }
-        }
+    private Location getDefenderSpawn() {
+        return defenderSpawns.next();
     }
 
-    private void startZoneTasks() {
-        // Beam particle task - spawn END_ROD particles above flag
-        beamParticleTask = new BukkitRunnable() {
-            @Override
-            public void run() {
-                if (flagLocation == null || gameWorld == null) return;
-                
-                // Spawn particles in a column above the flag (denser, more particles)
-                for (int y = 0; y < 60; y++) {
-                    Location particleLoc = flagLocation.clone().add(0.5, y, 0.5);
-                    gameWorld.spawnParticle(Particle.END_ROD, particleLoc, 3, 0.1, 0.1, 0.1, 0);
-                }
-            }
-        }.runTaskTimer(plugin, 0L, 5L);
-
-        // Zone effects task - regen for defenders near flag + boundary particles
-        zoneEffectsTask = new BukkitRunnable() {
-            int tickCounter = 0;
-
-            @Override
-            public void run() {
-                if (flagLocation == null || gameWorld == null) return;
-
-                // Apply regen to defenders in zone around flag
-                for (Player player : Bukkit.getOnlinePlayers()) {
-                    PlayerData data = teamManager.getPlayerData(player);
-                    if (data.getTeam() != PlayerData.Team.DEFENDERS) continue;
-                    if (!player.getWorld().equals(gameWorld)) continue;
-
-                    double distance = player.getLocation().distance(flagLocation);
-                    if (distance <= defenderSpawnRadius) {
-                        // Apply regeneration with duration slightly longer than check interval
-                        player.addPotionEffect(new PotionEffect(
-                                PotionEffectType.REGENERATION,
-                                40, // 2 seconds (longer than 20 tick interval)
-                                defenderRegenLevel - 1, // Level is 0-indexed
-                                true, // Ambient
-                                true, // Show particles
-                                true  // Show icon
-                        ));
-                    }
-                }
+    private Location getAttackerSpawn() {
+        return attackerSpawns.next();
+    }
 
-                // Spawn boundary particles every 2 seconds (40 ticks)
-                tickCounter++;
-                if (tickCounter >= 2) {
-                    tickCounter = 0;
-                    spawnBoundaryParticles();
-                }
-            }
-        }.runTaskTimer(plugin, 0L, 20L);
+    private void createPlatform(Location center) {
+        // The platform sits directly below the given location
+        StructureStamper.Structure platform = structureStamper.getStructure("platform");
+        structureStamper.stamp(platform, gameWorld, center.getBlockX(), center.getBlockY() - 1, center.getBlockZ(),
+                heightmap, null);
+        protectedBlocks.addStructure(platform, center.getBlockX(), center.getBlockY() - 1, center.getBlockZ());
     }
 
-    private void spawnBoundaryParticles() {
-        if (flagLocation == null || gameWorld == null) return;
+    private void startZoneTasks() {
+        // Beam above the flag, every 5 ticks
+        particleRenderer.addEffect(ParticleRenderer.Effect.column(flagLocation.clone().add(0.5, 0, 0.5), 60,
+                Particle.END_ROD, 3, 0.1, 5, null));
 
-        // Spawn particles around the flag zone perimeter (48 points, more particles each)
-        for (int i = 0; i < 48; i++) {
-            double angle = i * Math.PI / 24;
-            double x = flagLocation.getX() + defenderSpawnRadius * Math.cos(angle);
-            double z = flagLocation.getZ() + defenderSpawnRadius * Math.sin(angle);
-            int y = gameWorld.getHighestBlockYAt((int) x, (int) z) + 2;
-            
-            Location particleLoc = new Location(gameWorld, x, y, z);
-            gameWorld.spawnParticle(Particle.HAPPY_VILLAGER, particleLoc, 8, 0.3, 0.8, 0.3, 0);
-        }
-    }
+        // Flag zone boundary (48 points), every 2 seconds
+        particleRenderer.addEffect(ParticleRenderer.Effect.ring(heightmap, flagLocation, defenderSpawnRadius, 48,
+                2, Particle.HAPPY_VILLAGER, 8, 0.3, 0.8, 40, null));
 
-    private void stopZoneTasks() {
-        if (beamParticleTask != null) {
-            beamParticleTask.cancel();
-            beamParticleTask = null;
-        }
-        if (zoneEffectsTask != null) {
-            zoneEffectsTask.cancel();
-            zoneEffectsTask = null;
-        }
+        matchTicker.repeat("player-grid", 1, job -> playerGrid.refresh(gameWorld));
+        matchTicker.repeat("particles", 1, job -> particleRenderer.render());
+
+        // Zones are updated by GameListener as players move, so nothing polls them
+        zoneTracker.addZone("flag", flagLocation, defenderSpawnRadius, PlayerData.Team.DEFENDERS)
+                .addListener(zoneEffects);
+        matchTicker.repeat("zone-effects", ZoneEffects.REFRESH_TICKS, job -> zoneEffects.refresh());
+        zoneTracker.addZone("alarm", flagLocation, AlarmItem.DETECTION_RADIUS, PlayerData.Team.ATTACKERS);
+        zoneTracker.refresh(gameWorld);
     }
 
     private void startResourceSpawners() {
-        int attackerRate = plugin.getConfig().getInt("game.attacker_copper_rate_seconds", 5);
-        int defenderRate = plugin.getConfig().getInt("game.defender_copper_rate_seconds", 5);
-
-        attackerSpawnerTask = new BukkitRunnable() {
-            @Override
-            public void run() {
-                if (state != GameState.RUNNING) {
-                    this.cancel();
-                    return;
-                }
-                for (PlayerData data : teamManager.getTeamMembers(PlayerData.Team.ATTACKERS)) {
-                    Player p = data.getPlayer();
-                    if (p.isOnline()) {
-                        p.getInventory().addItem(new org.bukkit.inventory.ItemStack(Material.COPPER_INGOT));
-                        p.playSound(p.getLocation(), Sound.ENTITY_CHICKEN_EGG, 1.0f, 1.0f);
-                    }
-                }
+        int attackerRate = config.get().game().attackerCopperRateSeconds();
+
+        matchTicker.repeat("attacker-copper", attackerRate * 20, job -> {
+            if (state != GameState.RUNNING) {
+                job.cancel();
+                return;
             }
-        }.runTaskTimer(plugin, 0L, attackerRate * 20L);
-
-        defenderSpawnerTask = new BukkitRunnable() {
-            @Override
-            public void run() {
-                if (state != GameState.RUNNING) {
-                    this.cancel();
-                    return;
-                }
-                if (flagLocation != null && flagLocation.getWorld() != null) {
-                    flagLocation.getWorld().dropItemNaturally(flagLocation, new org.bukkit.inventory.ItemStack(Material.COPPER_INGOT));
-                    flagLocation.getWorld().playSound(flagLocation, Sound.ENTITY_CHICKEN_EGG, 1.0f, 1.0f);
+            for (Player p : getPlayers()) {
+                if (teamManager.getPlayerData(p).getTeam() != PlayerData.Team.ATTACKERS) continue;
+                if (wallet.isEnabled()) {
+                    wallet.credit(p, 1);
+                    wallet.showHud(p, PlayerData.Team.ATTACKERS);
+                } else {
+                    p.getInventory().addItem(new org.bukkit.inventory.ItemStack(Material.COPPER_INGOT));
+                    p.playSound(p.getLocation(), Sound.ENTITY_CHICKEN_EGG, 1.0f, 1.0f);
                 }
             }
-        }.runTaskTimer(plugin, 0L, defenderRate * 20L);
+        });
+
+        // Flag and map generators all run from one job
+        resourceGenerators.start(config.get().generators(), heightmap, flagLocation, gameWorld.getWorldBorder().getCenter(), wallet.isEnabled());
+        matchTicker.repeat("generators", 1, job -> resourceGenerators.tick());
     }
 
-    private void stopResourceSpawners() {
-        if (attackerSpawnerTask != null) {
-            attackerSpawnerTask.cancel();
-            attackerSpawnerTask = null;
-        }
-        if (defenderSpawnerTask != null) {
-            defenderSpawnerTask.cancel();
-            defenderSpawnerTask = null;
-        }
+    private void creditTeam(PlayerData.Team team, int amount) {
+        wallet.creditTeam(team, amount);
+        playerGrid.forEach(team, p -> wallet.showHud(p, team));
     }
 
     private void startCountdown() {
-        int countdownSeconds = plugin.getConfig().getInt("game.countdown_seconds", 5);
-
-        new BukkitRunnable() {
-            int count = countdownSeconds;
-
-            @Override
-            public void run() {
-                if (count > 0) {
-                    // Display countdown
-                    Title title = Title.title(
-                            Component.text(String.valueOf(count), NamedTextColor.YELLOW),
-                            Component.text("Get ready!", NamedTextColor.GRAY),
-                            Title.Times.times(Duration.ZERO, Duration.ofMillis(1100), Duration.ZERO)
-                    );
-                    for (Player player : Bukkit.getOnlinePlayers()) {
-                        player.showTitle(title);
-                        player.playSound(player.getLocation(), Sound.BLOCK_NOTE_BLOCK_PLING, 1.0f, 1.0f);
-                    }
-                    count--;
-                } else {
-                    // GO!
-                    Title title = Title.title(
-                            Component.text("GO!", NamedTextColor.GREEN),
-                            Component.empty(),
-                            Title.Times.times(Duration.ZERO, Duration.ofSeconds(1), Duration.ofMillis(500))
-                    );
-                    for (Player player : Bukkit.getOnlinePlayers()) {
-                        player.showTitle(title);
-                        player.playSound(player.getLocation(), Sound.ENTITY_ENDER_DRAGON_GROWL, 1.0f, 1.0f);
-                        player.setGameMode(GameMode.SURVIVAL);
-                    }
+        int countdownSeconds = config.get().game().countdownSeconds();
+
+        int[] count = {countdownSeconds};
+        matchTicker.repeat("countdown", 20, job -> {
+            if (count[0] > 0) {
+                // Display countdown
+                Title title = Title.title(
+                        Component.text(String.valueOf(count[0]), NamedTextColor.YELLOW),
+                        Component.text("Get ready!", NamedTextColor.GRAY),
+                        Title.Times.times(Duration.ZERO, Duration.ofMillis(1100), Duration.ZERO)
+                );
+                for (Player player : getPlayers()) {
+                    player.showTitle(title);
+                    player.playSound(player.getLocation(), Sound.BLOCK_NOTE_BLOCK_PLING, 1.0f, 1.0f);
+                }
+                count[0]--;
+            } else {
+                // GO!
+                Title title = Title.title(
+                        Component.text("GO!", NamedTextColor.GREEN),
+                        Component.empty(),
+                        Title.Times.times(Duration.ZERO, Duration.ofSeconds(1), Duration.ofMillis(500))
+                );
+                for (Player player : getPlayers()) {
+                    player.showTitle(title);
+                    player.playSound(player.getLocation(), Sound.ENTITY_ENDER_DRAGON_GROWL, 1.0f, 1.0f);
+                    player.setGameMode(GameMode.SURVIVAL);
+                }
 
-                    // Unfreeze all players
-                    frozenPlayers.clear();
-                    state = GameState.RUNNING;
+                // Unfreeze all players
+                frozenPlayers.clear();
+                setState(GameState.RUNNING);
 
-                    // Start compass update task
-                    FlagCompassItem.startUpdateTask();
+                // Start compass update task
+                FlagCompassItem.startUpdateTask(this);
 
-                    // Start zone tasks (beam particles, regen zone)
-                    startZoneTasks();
+                // Start zone tasks (beam particles, regen zone)
+                startZoneTasks();
 
-                    // Start resource spawners
-                    startResourceSpawners();
+                // Start resource spawners
+                startResourceSpawners();
 
-                    // Start game timer
-                    startTimer();
+                // Respawn countdowns for every dead player
+                matchTicker.repeat("respawns", 1, respawnJob -> respawnScheduler.tick());
 
-                    cancel();
-                }
+                // Start game timer
+                startTimer();
+
+                job.cancel();
             }
-        }.runTaskTimer(plugin, 0L, 20L);
+        });
     }
 
     private void startTimer() {
-        int durationMinutes = plugin.getConfig().getInt("game.duration_minutes", 30);
+        int durationMinutes = config.get().game().durationMinutes();
         totalSeconds = durationMinutes * 60;
         remainingSeconds = totalSeconds;
 
@@ -538,22 +524,19 @@ public class GameManager {
                 BossBar.Overlay.PROGRESS
         );
 
-        for (Player player : Bukkit.getOnlinePlayers()) {
+        for (Player player : getPlayers()) {
             player.showBossBar(timerBar);
         }
 
-        timerTask = new BukkitRunnable() {
-            @Override
-            public void run() {
-                remainingSeconds--;
-                if (remainingSeconds <= 0) {
-                    handleTimeExpired();
-                    this.cancel();
-                    return;
-                }
-                updateTimerBar();
+        matchTicker.repeat("timer", 20, job -> {
+            remainingSeconds--;
+            if (remainingSeconds <= 0) {
+                handleTimeExpired();
+                job.cancel();
+                return;
             }
-        }.runTaskTimer(plugin, 20L, 20L);
+            updateTimerBar();
+        });
     }
 
     private void updateTimerBar() {
@@ -574,7 +557,7 @@ public class GameManager {
     }
 
     private void handleTimeExpired() {
-        for (Player player : Bukkit.getOnlinePlayers()) {
+        for (Player player : getPlayers()) {
             player.playSound(player.getLocation(), Sound.ENTITY_ENDER_DRAGON_DEATH, 1.0f, 1.0f);
             Title title = Title.title(
                     Component.text("DEFENDERS WIN!", NamedTextColor.BLUE),
@@ -584,66 +567,45 @@ public class GameManager {
             player.showTitle(title);
         }
 
-        new BukkitRunnable() {
-            @Override
-            public void run() {
-                stop();
-            }
-        }.runTaskLater(plugin, 100L); // 5 seconds delay
+        matchTicker.later("end", 100, job -> stop()); // 5 seconds delay
     }
 
     public void handlePlayerDeath(Player player) {
         if (state != GameState.RUNNING) return;
 
         PlayerData data = teamManager.getPlayerData(player);
-        String configKey = (data.getTeam() == PlayerData.Team.ATTACKERS)
-                ? "game.attacker_respawn_cooldown_seconds"
-                : "game.defender_respawn_cooldown_seconds";
-        int cooldown = plugin.getConfig().getInt(configKey, 10);
+        CtfConfig.Game game = config.get().game();
+        int cooldown = (data.getTeam() == PlayerData.Team.ATTACKERS)
+                ? game.attackerRespawnCooldownSeconds()
+                : game.defenderRespawnCooldownSeconds();
+
+        // Leave every zone until respawned
+        zoneTracker.remove(player);
 
         // Set to spectator and freeze
         player.setGameMode(GameMode.SPECTATOR);
         player.getInventory().clear();
 
         // Start respawn countdown
-        BukkitRunnable task = new BukkitRunnable() {
-            int count = cooldown;
-
-            @Override
-            public void run() {
-                if (count > 0) {
-                    Title title = Title.title(
-                            Component.text("Respawning in " + count + "s", NamedTextColor.RED),
-                            Component.empty(),
-                            Title.Times.times(Duration.ZERO, Duration.ofMillis(1100), Duration.ZERO)
-                    );
-                    player.showTitle(title);
-                    count--;
-                } else {
-                    respawnPlayer(player, data);
-                    respawnTasks.remove(player.getUniqueId());
-                    cancel();
-                }
-            }
-        };
-        respawnTasks.put(player.getUniqueId(), task);
-        task.runTaskTimer(plugin, 0L, 20L);
+        respawnScheduler.schedule(player, cooldown);
     }
 
 private void respawnPlayer(Player player, PlayerData data) {
         Location spawn;
         if (data.getTeam() == PlayerData.Team.DEFENDERS) {
-            spawn = getRandomSpawnAround(flagLocation, defenderSpawnRadius);
+            spawn = getDefenderSpawn();
         } else {
             // Attackers respawn at their bed spawn (natural spawnpoint)
             spawn = player.getRespawnLocation();
             if (spawn == null) {
-                spawn = getSpawnOnPerimeter(attackerSpawnCenter, attackerSpawnRadius);
+                spawn = getAttackerSpawn();
             }
         }
 
         player.teleport(spawn);
         player.setGameMode(GameMode.SURVIVAL);
+        // Spectators are never in a zone, so re-check now that the player is alive again
+        zoneTracker.update(player, spawn);
         player.setHealth(20.0);
         player.setFoodLevel(20);
         player.setSaturation(20.0f);
@@ -655,9 +617,43 @@ private void respawnPlayer(Player player, PlayerData data) {
         }
     }
 
+    /**
+     * Keeps the heightmap in sync with a block placed in this arena.
+     */
+    public void handleBlockPlaced(Block block) {
+        if (heightmap == null || block.getWorld() != gameWorld) return;
+        heightmap.update(block.getX(), block.getY(), block.getZ(), block.getType());
+    }
+
+    /**
+     * Re-reads the surface of every column whose highest block is among the removed
+     * blocks. The blocks are still there while the event runs, so this waits a tick.
+     */
+    public void handleBlocksRemoved(List<Block> blocks) {
+        if (heightmap == null || blocks.isEmpty() || blocks.get(0).getWorld() != gameWorld) return;
+
+        ArenaHeightmap current = heightmap;
+        List<Block> surfaceBlocks = new ArrayList<>();
+        for (Block block : blocks) {
+            int cachedY = current.getCachedHighestBlockY(block.getX(), block.getZ());
+            if (cachedY != ArenaHeightmap.NOT_CACHED && block.getY() >= cachedY) {
+                surfaceBlocks.add(block);
+            }
+        }
+        if (surfaceBlocks.isEmpty()) return;
+
+        Bukkit.getScheduler().runTask(plugin, () -> {
+            // The arena may have been torn down in the meantime
+            if (heightmap != current) return;
+            for (Block block : surfaceBlocks) {
+                current.resample(block.getX(), block.getZ());
+            }
+        });
+    }
+
     public void handleFlagBroken(Player breaker) {
         // Play ender dragon death sound globally
-        for (Player player : Bukkit.getOnlinePlayers()) {
+        for (Player player : getPlayers()) {
             player.playSound(player.getLocation(), Sound.ENTITY_ENDER_DRAGON_DEATH, 1.0f, 1.0f);
             Title title = Title.title(
                     Component.text("ATTACKERS WIN!", NamedTextColor.RED),
@@ -667,12 +663,7 @@ private void respawnPlayer(Player player, PlayerData data) {
             player.showTitle(title);
         }
 
-        new BukkitRunnable() {
-            @Override
-            public void run() {
-                stop();
-            }
-        }.runTaskLater(plugin, 100L); // 5 seconds delay
+        matchTicker.later("end", 100, job -> stop()); // 5 seconds delay
     }
 
     public void handleLateJoin(Player player) {
@@ -685,9 +676,9 @@ private void respawnPlayer(Player player, PlayerData data) {
                     // In countdown - freeze and set to adventure
                     Location spawn;
                     if (data.getTeam() == PlayerData.Team.DEFENDERS) {
-                        spawn = getRandomSpawnAround(flagLocation, defenderSpawnRadius);
+                        spawn = getDefenderSpawn();
                     } else {
-                        spawn = getSpawnOnPerimeter(attackerSpawnCenter, attackerSpawnRadius);
+                        spawn = getAttackerSpawn();
                         player.setRespawnLocation(spawn, true);
                     }
                     player.teleport(spawn);
@@ -716,9 +707,9 @@ private void respawnPlayer(Player player, PlayerData data) {
 
             Location spawn;
             if (data.getTeam() == PlayerData.Team.DEFENDERS) {
-                spawn = getRandomSpawnAround(flagLocation, defenderSpawnRadius);
+                spawn = getDefenderSpawn();
             } else {
-                spawn = getSpawnOnPerimeter(attackerSpawnCenter, attackerSpawnRadius);
+                spawn = getAttackerSpawn();
                 player.setRespawnLocation(spawn, true);
             }
 
@@ -735,6 +726,78 @@ private void respawnPlayer(Player player, PlayerData data) {
         }
     }
 
+    /**
+     * Adds the player to this arena and brings them into the current phase.
+     */
+    public void addPlayer(Player player) {
+        players.add(player.getUniqueId());
+        teamManager.addPlayerToScoreboardTeam(player, name, teamManager.getPlayerData(player).getTeam());
+
+        if (state == GameState.INIT) {
+            // Reset player during init phase
+            if (gameWorld != null) {
+                player.teleport(getArenaSpawn());
+            }
+            resetPlayer(player);
+            showGenerationProgress(player);
+        } else if (state == GameState.RUNNING || state == GameState.COUNTDOWN) {
+            // Late join during game
+            handleLateJoin(player);
+        }
+    }
+
+    /**
+     * Takes the player out of this arena, sending them back to the lobby if a game is on.
+     */
+    public void removePlayer(Player player) {
+        if (!players.remove(player.getUniqueId())) return;
+
+        frozenPlayers.remove(player.getUniqueId());
+        pendingPlayers.remove(player.getUniqueId());
+        respawnScheduler.cancel(player);
+        zoneTracker.remove(player);
+        wallet.clear(player);
+        teamManager.removePlayerFromScoreboardTeams(player);
+        if (timerBar != null) {
+            player.hideBossBar(timerBar);
+        }
+        if (pregenerator != null) {
+            pregenerator.hideProgressBar(player);
+        }
+
+        if (state != GameState.IDLE) {
+            if (lobbyWorld != null && player.getWorld() != lobbyWorld) {
+                player.teleport(lobbyWorld.getSpawnLocation());
+            }
+            resetPlayer(player);
+        }
+    }
+
+    public boolean hasPlayer(Player player) {
+        return players.contains(player.getUniqueId());
+    }
+
+    /**
+     * The online players in this arena.
+     */
+    public List<Player> getPlayers() {
+        List<Player> online = new ArrayList<>(players.size());
+        for (UUID id : players) {
+            Player player = Bukkit.getPlayer(id);
+            if (player != null) {
+                online.add(player);
+            }
+        }
+        return online;
+    }
+
+    public void broadcast(Component message) {
+        for (Player player : getPlayers()) {
+            player.sendMessage(message);
+        }
+        Bukkit.getConsoleSender().sendMessage(Component.text("[" + name + "] ").append(message));
+    }
+
     public boolean isFrozen(Player player) {
         return frozenPlayers.contains(player.getUniqueId());
     }
@@ -759,48 +822,87 @@ private void respawnPlayer(Player player, PlayerData data) {
         return flagLocation;
     }
 
+    public MatchTicker getMatchTicker() {
+        return matchTicker;
+    }
+
+    public PlayerGrid getPlayerGrid() {
+        return playerGrid;
+    }
+
+    public ProtectedBlocks getProtectedBlocks() {
+        return protectedBlocks;
+    }
+
+    public CopperWallet getWallet() {
+        return wallet;
+    }
+
+    public ZoneTracker getZoneTracker() {
+        return zoneTracker;
+    }
+
+    /**
+     * Upgrades the flag zone to its next effect tier; returns false if the game isn't
+     * running or the zone is already at the highest tier.
+     */
+    public boolean upgradeZoneEffects() {
+        if (state != GameState.RUNNING) return false;
+        return zoneEffects.upgrade();
+    }
+
+    /**
+     * Current zone tier, starting at 1.
+     */
+    public int getZoneLevel() {
+        return zoneEffects.getTier() + 1;
+    }
+
+    public int getMaxZoneLevel() {
+        return zoneEffects.getTierCount();
+    }
+
     public void stop() {
-        // Cancel timer task
-        if (timerTask != null) {
-            timerTask.cancel();
-            timerTask = null;
+        // Cancel world preparation and pre-generation
+        preparingWorld = false;
+        scoringFlagSite = false;
+        arenaGeneration++;
+        if (pregenerator != null) {
+            pregenerator.stop();
+            pregenerator = null;
         }
 
+        // Stop every match job (countdown, timer, particles, spawners, respawns, compass)
+        matchTicker.stop();
+        particleRenderer.clear();
+        resourceGenerators.clear();
+
         // Remove boss bar from all players
         if (timerBar != null) {
-            for (Player player : Bukkit.getOnlinePlayers()) {
+            for (Player player : getPlayers()) {
                 player.hideBossBar(timerBar);
             }
             timerBar = null;
         }
 
-        // Cancel all respawn tasks
-        for (BukkitRunnable task : respawnTasks.values()) {
-            task.cancel();
-        }
-        respawnTasks.clear();
+        respawnScheduler.clear();
+        playerGrid.clear();
+        zoneEffects.reset();
+        zoneTracker.clear();
+        protectedBlocks.reset(null);
+        wallet.reset();
         frozenPlayers.clear();
         pendingPlayers.clear();
 
-        // Deactivate any active alarm
-        AlarmItem.deactivateAlarm();
-
-        // Stop compass update task
-        FlagCompassItem.stopUpdateTask();
-
-        // Stop zone tasks
-        stopZoneTasks();
-
-        // Stop resource spawners
-        stopResourceSpawners();
-
         // Clear scoreboard teams
-        teamManager.clearScoreboardTeams();
+        for (Player player : getPlayers()) {
+            teamManager.removePlayerFromScoreboardTeams(player);
+        }
 
         // Teleport all players back to lobby
         if (lobbyWorld != null) {
             Location lobbySpawn = lobbyWorld.getSpawnLocation();
-            for (Player player : Bukkit.getOnlinePlayers()) {
+            for (Player player : getPlayers()) {
                 player.teleport(lobbySpawn);
                 player.setGameMode(GameMode.ADVENTURE);
             }
@@ -808,33 +910,22 @@ private void respawnPlayer(Player player, PlayerData data) {
 
         // Unload and delete game world
         if (gameWorld != null) {
+            structureStamper.cancel(gameWorld);
             String worldName = gameWorld.getName();
-            Bukkit.unloadWorld(gameWorld, false);
-            deleteWorldFolder(new File(Bukkit.getWorldContainer(), worldName));
+            worldFactory.deleteWorld(gameWorld);
+            arenaPool.release(worldName);
             gameWorld = null;
         }
 
         flagLocation = null;
+        flagSite = null;
         attackerSpawnCenter = null;
-        state = GameState.IDLE;
-
-        Bukkit.broadcast(Component.text("Game stopped! Returned to lobby.", NamedTextColor.YELLOW));
-    }
+        defenderSpawns = null;
+        attackerSpawns = null;
+        heightmap = null;
+        setState(GameState.IDLE);
 
-    private void deleteWorldFolder(File folder) {
-        if (folder.exists()) {
-            File[] files = folder.listFiles();
-            if (files != null) {
-                for (File file : files) {
-                    if (file.isDirectory()) {
-                        deleteWorldFolder(file);
-                    } else {
-                        file.delete();
-                    }
-                }
-            }
-            folder.delete();
-        }
+        broadcast(Component.text("Game stopped! Returned to lobby.", NamedTextColor.YELLOW));
     }
 
     public World getGameWorld() {
@@ -15,7 +15,7 @@ import java.util.List;
 
 public class GiveItemCommand implements CommandExecutor, TabCompleter {
     private final CustomItemManager customItemManager;
-    private static final List<String> ITEM_NAMES = List.of("fireball", "tnt", "alarm", "compass", "nuke");
+    private static final List<String> ITEM_NAMES = List.of("fireball", "tnt", "alarm", "compass", "nuke", "zone_upgrade");
 
     public GiveItemCommand(CustomItemManager customItemManager) {
         this.customItemManager = customItemManager;
@@ -61,12 +61,13 @@ public class GiveItemCommand implements CommandExecutor, TabCompleter {
             case "alarm" -> customItemManager.createAlarm(amount);
             case "compass" -> customItemManager.createFlagCompass(amount);
             case "nuke" -> customItemManager.createNukeRocket(amount);
+            case "zone_upgrade" -> customItemManager.createZoneUpgrade(amount);
             default -> null;
         };
 
         if (item == null) {
             player.sendMessage("§cUnknown item: " + itemName);
-            player.sendMessage("§7Available items: fireball, tnt, alarm, compass, nuke");
+            player.sendMessage("§7Available items: fireball, tnt, alarm, compass, nuke, zone_upgrade");
             return true;
         }
 
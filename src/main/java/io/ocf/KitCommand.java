@@ -16,12 +16,12 @@ import java.util.stream.Collectors;
 public class KitCommand implements CommandExecutor, TabCompleter {
     private final TeamManager teamManager;
     private final KitManager kitManager;
-    private final GameManager gameManager;
+    private final ArenaManager arenaManager;
 
-    public KitCommand(TeamManager teamManager, KitManager kitManager, GameManager gameManager) {
+    public KitCommand(TeamManager teamManager, KitManager kitManager, ArenaManager arenaManager) {
         this.teamManager = teamManager;
         this.kitManager = kitManager;
-        this.gameManager = gameManager;
+        this.arenaManager = arenaManager;
     }
 
     @Override
@@ -44,9 +44,9 @@ public class KitCommand implements CommandExecutor, TabCompleter {
             return true;
         }
 
-        if (kitManager.applyKit(player, args[0], playerData)) {
+        if (kitManager.applyKit(player, args[0].toLowerCase(), playerData)) {
             // Check if pending player is now ready
-            gameManager.checkPendingPlayer(player);
+            arenaManager.getArena(player).checkPendingPlayer(player);
         }
         return true;
     }
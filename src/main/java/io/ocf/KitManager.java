@@ -13,33 +13,47 @@ import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.enchantments.Enchantment;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemStack;
-import org.bukkit.inventory.PlayerInventory;
 import org.bukkit.plugin.java.JavaPlugin;
 
 import java.util.*;
 
 public class KitManager {
+    // Layout of PlayerInventory.getContents(): storage, armor (boots first), off hand
+    private static final int STORAGE_SIZE = 36;
+    private static final int CONTENTS_SIZE = 41;
+    private static final List<String> ARMOR_SLOTS = List.of("boots", "leggings", "chestplate", "helmet");
+
     private final JavaPlugin plugin;
     private final Map<String, Kit> kits = new HashMap<>();
     private CustomItemManager customItemManager;
 
     public static class Kit {
+        private final String id;
         private final String name;
         private final PlayerData.Team team;
         private final Map<String, KitItem> armor;
         private final List<KitItem> items;
+        private ItemStack[] contents;
 
         public Kit(String name, PlayerData.Team team, Map<String, KitItem> armor, List<KitItem> items) {
+            this.id = name.toLowerCase();
             this.name = name;
             this.team = team;
             this.armor = armor;
             this.items = items;
         }
 
+        /** The lowercase name the kit is looked up by. */
+        public String getId() { return id; }
         public String getName() { return name; }
         public PlayerData.Team getTeam() { return team; }
         public Map<String, KitItem> getArmor() { return armor; }
         public List<KitItem> getItems() { return items; }
+
+        /**
+         * The whole inventory this kit gives, in {@code PlayerInventory.getContents()} order.
+         */
+        public ItemStack[] getContents() { return contents; }
     }
 
     public static class KitItem {
@@ -122,8 +136,6 @@ public class KitManager {
     }
 
     public void loadKits() {
-        plugin.saveDefaultConfig();
-        plugin.reloadConfig();
         kits.clear();
 
         FileConfiguration config = plugin.getConfig();
@@ -179,15 +191,87 @@ public class KitManager {
                 }
             }
 
-            kits.put(kitName.toLowerCase(), new Kit(kitName, team, armor, items));
+            Kit kit = new Kit(kitName, team, armor, items);
+            compileKit(kit);
+            kits.put(kit.getId(), kit);
             plugin.getLogger().info("Loaded kit: " + kitName + " (team: " + team + ")");
         }
 
         plugin.getLogger().info("Loaded " + kits.size() + " kits total");
     }
 
+    /**
+     * Builds the inventory contents of a kit once, laid out the way addItem would place
+     * the items, so applying it is a single inventory write.
+     */
+    private void compileKit(Kit kit) {
+        ItemStack[] contents = new ItemStack[CONTENTS_SIZE];
+
+        for (int i = 0; i < ARMOR_SLOTS.size(); i++) {
+            KitItem item = kit.getArmor().get(ARMOR_SLOTS.get(i));
+            if (item != null) {
+                contents[STORAGE_SIZE + i] = createItemStack(item);
+            }
+        }
+
+        for (KitItem item : kit.getItems()) {
+            ItemStack stack = createItemStack(item);
+            if (stack != null && !addToStorage(contents, stack)) {
+                plugin.getLogger().warning("Kit '" + kit.getName() + "' doesn't fit into an inventory, dropping "
+                        + stack.getType());
+            }
+        }
+
+        kit.contents = contents;
+    }
+
+    private ItemStack createItemStack(KitItem item) {
+        if (!item.isCustomItem()) {
+            return item.toItemStack();
+        }
+        if (customItemManager == null) {
+            // Compiled again once custom items are available
+            return null;
+        }
+        var customItem = customItemManager.getItem(item.getCustomItemId());
+        if (customItem == null) {
+            plugin.getLogger().warning("Custom item '" + item.getCustomItemId() + "' not found!");
+            return null;
+        }
+        return customItem.createItemStack(item.getAmount());
+    }
+
+    /**
+     * Merges the stack into the storage slots like {@code Inventory.addItem}: first onto
+     * similar stacks, then into empty slots. Returns false if some of it didn't fit.
+     */
+    private static boolean addToStorage(ItemStack[] contents, ItemStack stack) {
+        int remaining = stack.getAmount();
+        int maxStack = stack.getMaxStackSize();
+
+        for (int i = 0; i < STORAGE_SIZE && remaining > 0; i++) {
+            ItemStack slot = contents[i];
+            if (slot != null && slot.isSimilar(stack) && slot.getAmount() < maxStack) {
+                int moved = Math.min(remaining, maxStack - slot.getAmount());
+                slot.setAmount(slot.getAmount() + moved);
+                remaining -= moved;
+            }
+        }
+        for (int i = 0; i < STORAGE_SIZE && remaining > 0; i++) {
+            if (contents[i] == null) {
+                int moved = Math.min(remaining, maxStack);
+                contents[i] = stack.asQuantity(moved);
+                remaining -= moved;
+            }
+        }
+        return remaining == 0;
+    }
+
+    /**
+     * Gives the player a kit by its lowercase id, as returned by {@link #getKitNames()}.
+     */
     public boolean applyKit(Player player, String kitName, PlayerData playerData) {
-        Kit kit = kits.get(kitName.toLowerCase());
+        Kit kit = kits.get(kitName);
         if (kit == null) {
             player.sendMessage(Component.text("Kit '" + kitName + "' not found!", NamedTextColor.RED));
             return false;
@@ -200,35 +284,12 @@ public class KitManager {
             return false;
         }
 
-        PlayerInventory inv = player.getInventory();
-        inv.clear();
-
-        // Apply armor
-        Map<String, KitItem> armor = kit.getArmor();
-        if (armor.containsKey("helmet")) inv.setHelmet(armor.get("helmet").toItemStack());
-        if (armor.containsKey("chestplate")) inv.setChestplate(armor.get("chestplate").toItemStack());
-        if (armor.containsKey("leggings")) inv.setLeggings(armor.get("leggings").toItemStack());
-        if (armor.containsKey("boots")) inv.setBoots(armor.get("boots").toItemStack());
-
-        // Apply items
-        for (KitItem item : kit.getItems()) {
-            if (item.isCustomItem()) {
-                // Get custom item from CustomItemManager
-                if (customItemManager != null) {
-                    var customItem = customItemManager.getItem(item.getCustomItemId());
-                    if (customItem != null) {
-                        inv.addItem(customItem.createItemStack(item.getAmount()));
-                    } else {
-                        plugin.getLogger().warning("Custom item '" + item.getCustomItemId() + "' not found!");
-                    }
-                }
-            } else {
-                inv.addItem(item.toItemStack());
-            }
-        }
+        // Replaces everything, including armor and the off hand. The inventory copies the
+        // stacks, so the compiled contents are never handed out
+        player.getInventory().setContents(kit.getContents());
 
         // Store kit selection in player data
-        playerData.setKit(kitName.toLowerCase());
+        playerData.setKit(kit.getId());
 
         player.sendMessage(Component.text("Kit '", NamedTextColor.GREEN)
                 .append(Component.text(kit.getName(), NamedTextColor.GOLD))
@@ -258,5 +319,9 @@ public class KitManager {
 
     public void setCustomItemManager(CustomItemManager customItemManager) {
         this.customItemManager = customItemManager;
+        // Kits with custom items were compiled without them
+        for (Kit kit : kits.values()) {
+            compileKit(kit);
+        }
     }
 }
@@ -0,0 +1,185 @@
+package io.ocf;
+
+import org.bukkit.plugin.java.JavaPlugin;
+import org.bukkit.scheduler.BukkitRunnable;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * Drives every recurring job of a match from a single per-tick task. Repeating jobs get a
+ * phase offset that avoids ticks already used by other jobs, and the time spent in each
+ * job is recorded and logged when the match stops.
+ */
+public class MatchTicker {
+    private final JavaPlugin plugin;
+    private final List<Job> jobs = new ArrayList<>();
+    private final Map<String, JobStats> stats = new LinkedHashMap<>();
+    private BukkitTask task;
+    private long tick = 0;
+
+    public class Job {
+        private final String name;
+        private final int period;
+        private final boolean once;
+        private final Consumer<Job> action;
+        private long nextRun;
+        private boolean cancelled = false;
+
+        private Job(String name, int period, boolean once, Consumer<Job> action, long nextRun) {
+            this.name = name;
+            this.period = period;
+            this.once = once;
+            this.action = action;
+            this.nextRun = nextRun;
+        }
+
+        public void cancel() {
+            cancelled = true;
+        }
+
+        public boolean isCancelled() {
+            return cancelled;
+        }
+    }
+
+    private static class JobStats {
+        private long runs;
+        private long totalNanos;
+        private long maxNanos;
+    }
+
+    public MatchTicker(JavaPlugin plugin) {
+        this.plugin = plugin;
+    }
+
+    public void start() {
+        if (task != null) return;
+        tick = 0;
+        task = new BukkitRunnable() {
+            @Override
+            public void run() {
+                tick();
+            }
+        }.runTaskTimer(plugin, 1L, 1L);
+    }
+
+    /**
+     * Cancels every job and logs how long each kind of job took.
+     */
+    public void stop() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+        for (Job job : jobs) {
+            job.cancel();
+        }
+        jobs.clear();
+        logStats();
+        stats.clear();
+    }
+
+    public boolean isRunning() {
+        return task != null;
+    }
+
+    /**
+     * Runs the action every {@code periodTicks} ticks, starting within the next period
+     * on the least busy phase. The action receives its own job so it can cancel itself.
+     */
+    public Job repeat(String name, int periodTicks, Consumer<Job> action) {
+        int period = Math.max(1, periodTicks);
+        int phase = pickPhase(period);
+        long first = tick + 1 + Math.floorMod(phase - (tick + 1), period);
+        return add(new Job(name, period, false, action, first));
+    }
+
+    /**
+     * Runs the action once after {@code delayTicks} ticks.
+     */
+    public Job later(String name, int delayTicks, Consumer<Job> action) {
+        int delay = Math.max(1, delayTicks);
+        return add(new Job(name, delay, true, action, tick + delay));
+    }
+
+    private Job add(Job job) {
+        jobs.add(job);
+        stats.putIfAbsent(job.name, new JobStats());
+        return job;
+    }
+
+    /**
+     * The phase (tick modulo period) shared with the fewest repeating jobs. Two jobs collide
+     * on some tick whenever their phases agree modulo the gcd of their periods.
+     */
+    private int pickPhase(int period) {
+        int bestPhase = 0;
+        int bestCollisions = Integer.MAX_VALUE;
+        for (int phase = 0; phase < period; phase++) {
+            int collisions = 0;
+            for (Job job : jobs) {
+                if (job.once || job.cancelled) continue;
+                int gcd = gcd(period, job.period);
+                if (Math.floorMod(phase - job.nextRun, gcd) == 0) {
+                    collisions++;
+                }
+            }
+            if (collisions < bestCollisions) {
+                bestCollisions = collisions;
+                bestPhase = phase;
+                if (collisions == 0) break;
+            }
+        }
+        return bestPhase;
+    }
+
+    private static int gcd(int a, int b) {
+        while (b != 0) {
+            int t = a % b;
+            a = b;
+            b = t;
+        }
+        return a;
+    }
+
+    private void tick() {
+        tick++;
+
+        // Jobs may add jobs or stop the ticker while running, so iterate over a snapshot
+        for (Job job : jobs.toArray(new Job[0])) {
+            if (task == null) return;
+            if (job.cancelled || job.nextRun != tick) continue;
+
+            long start = System.nanoTime();
+            job.action.accept(job);
+            long elapsed = System.nanoTime() - start;
+
+            JobStats jobStats = stats.get(job.name);
+            if (jobStats != null) {
+                jobStats.runs++;
+                jobStats.totalNanos += elapsed;
+                jobStats.maxNanos = Math.max(jobStats.maxNanos, elapsed);
+            }
+
+            if (job.once) {
+                job.cancel();
+            } else {
+                job.nextRun += job.period;
+            }
+        }
+        jobs.removeIf(job -> job.cancelled);
+    }
+
+    private void logStats() {
+        for (Map.Entry<String, JobStats> entry : stats.entrySet()) {
+            JobStats jobStats = entry.getValue();
+            if (jobStats.runs == 0) continue;
+            plugin.getLogger().info(String.format("Match job %s: %d runs, avg %.3fms, max %.3fms",
+                    entry.getKey(), jobStats.runs,
+                    jobStats.totalNanos / 1_000_000.0 / jobStats.runs,
+                    jobStats.maxNanos / 1_000_000.0));
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package io.ocf;
+
+import org.bukkit.Location;
+import org.bukkit.Particle;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Renders precomputed particle effects to each viewer individually. Viewers are looked up
+ * in the arena's {@link PlayerGrid} and only receive points within view distance, farther
+ * viewers get every 2nd or 4th point, and the total number of particles sent per tick is
+ * capped. {@link #render()} must be called every tick, after the grid is refreshed.
+ */
+public class ParticleRenderer {
+    private static final PlayerData.Team[] TEAMS = PlayerData.Team.values();
+
+    private final ConfigManager config;
+    private final PlayerGrid playerGrid;
+    private final List<Effect> effects = new ArrayList<>();
+    private final List<Player> viewers = new ArrayList<>();
+    private long tick = 0;
+    private int viewerOffset = 0;
+
+    /**
+     * A fixed set of points that is rendered every {@code periodTicks} ticks.
+     */
+    public static class Effect {
+        private final World world;
+        private final double[] xs;
+        private final double[] ys;
+        private final double[] zs;
+        private final Particle particle;
+        private final int count;
+        private final double spreadX;
+        private final double spreadY;
+        private final double spreadZ;
+        private final int periodTicks;
+        private final PlayerData.Team visibleTo;
+
+        // Bounding sphere, used to cull and pick the level of detail per viewer
+        private final double centerX;
+        private final double centerY;
+        private final double centerZ;
+        private final double radius;
+
+        public Effect(World world, double[] xs, double[] ys, double[] zs, Particle particle, int count,
+                      double spreadX, double spreadY, double spreadZ, int periodTicks, PlayerData.Team visibleTo) {
+            this.world = world;
+            this.xs = xs;
+            this.ys = ys;
+            this.zs = zs;
+            this.particle = particle;
+            this.count = count;
+            this.spreadX = spreadX;
+            this.spreadY = spreadY;
+            this.spreadZ = spreadZ;
+            this.periodTicks = Math.max(1, periodTicks);
+            this.visibleTo = visibleTo;
+
+            double sumX = 0, sumY = 0, sumZ = 0;
+            for (int i = 0; i < xs.length; i++) {
+                sumX += xs[i];
+                sumY += ys[i];
+                sumZ += zs[i];
+            }
+            int n = Math.max(1, xs.length);
+            this.centerX = sumX / n;
+            this.centerY = sumY / n;
+            this.centerZ = sumZ / n;
+
+            double maxDistanceSquared = 0;
+            for (int i = 0; i < xs.length; i++) {
+                double dx = xs[i] - centerX, dy = ys[i] - centerY, dz = zs[i] - centerZ;
+                maxDistanceSquared = Math.max(maxDistanceSquared, dx * dx + dy * dy + dz * dz);
+            }
+            this.radius = Math.sqrt(maxDistanceSquared);
+        }
+
+        /**
+         * A vertical column of {@code height} points starting at the base location.
+         */
+        public static Effect column(Location base, int height, Particle particle, int count, double spread,
+                                    int periodTicks, PlayerData.Team visibleTo) {
+            double[] xs = new double[height];
+            double[] ys = new double[height];
+            double[] zs = new double[height];
+            for (int y = 0; y < height; y++) {
+                xs[y] = base.getX();
+                ys[y] = base.getY() + y;
+                zs[y] = base.getZ();
+            }
+            return new Effect(base.getWorld(), xs, ys, zs, particle, count, spread, spread, spread, periodTicks, visibleTo);
+        }
+
+        /**
+         * A horizontal ring of {@code points} points that follows the terrain, {@code heightOffset}
+         * blocks above the surface.
+         */
+        public static Effect ring(ArenaHeightmap heightmap, Location center, double radius, int points,
+                                  double heightOffset, Particle particle, int count, double spreadXZ,
+                                  double spreadY, int periodTicks, PlayerData.Team visibleTo) {
+            double[] xs = new double[points];
+            double[] ys = new double[points];
+            double[] zs = new double[points];
+            for (int i = 0; i < points; i++) {
+                double angle = i * 2 * Math.PI / points;
+                xs[i] = center.getX() + radius * Math.cos(angle);
+                zs[i] = center.getZ() + radius * Math.sin(angle);
+                ys[i] = heightmap.getHighestBlockY((int) xs[i], (int) zs[i]) + heightOffset;
+            }
+            return new Effect(heightmap.getWorld(), xs, ys, zs, particle, count, spreadXZ, spreadY, spreadXZ,
+                    periodTicks, visibleTo);
+        }
+    }
+
+    public ParticleRenderer(ConfigManager config, PlayerGrid playerGrid) {
+        this.config = config;
+        this.playerGrid = playerGrid;
+    }
+
+    public void addEffect(Effect effect) {
+        effects.add(effect);
+    }
+
+    public void removeEffect(Effect effect) {
+        effects.remove(effect);
+    }
+
+    public void clear() {
+        effects.clear();
+    }
+
+    public void render() {
+        int budget = config.get().game().particleBudgetPerTick();
+        double viewDistance = config.get().game().particleViewDistance();
+
+        for (Effect effect : effects) {
+            if (tick % effect.periodTicks != 0) continue;
+
+            // Only players within view distance of the bounding sphere can see any point
+            viewers.clear();
+            double range = effect.radius + viewDistance;
+            if (effect.visibleTo != null) {
+                playerGrid.forEachWithin(effect.visibleTo, effect.centerX, effect.centerY, effect.centerZ, range, viewers::add);
+            } else {
+                for (PlayerData.Team team : TEAMS) {
+                    playerGrid.forEachWithin(team, effect.centerX, effect.centerY, effect.centerZ, range, viewers::add);
+                }
+            }
+            if (viewers.isEmpty()) continue;
+
+            // Start at a different viewer each tick so a tight budget doesn't always starve the same players
+            int start = Math.floorMod(viewerOffset, viewers.size());
+            for (int v = 0; v < viewers.size() && budget > 0; v++) {
+                Player viewer = viewers.get((start + v) % viewers.size());
+                budget -= renderTo(viewer, effect, viewDistance, budget);
+            }
+        }
+
+        viewers.clear();
+        viewerOffset++;
+        tick++;
+    }
+
+    /**
+     * Sends the effect's visible points to one viewer; returns the number of particles sent.
+     */
+    private int renderTo(Player viewer, Effect effect, double viewDistance, int budget) {
+        Location eye = viewer.getLocation();
+        double px = eye.getX(), py = eye.getY(), pz = eye.getZ();
+
+        double dx = px - effect.centerX, dy = py - effect.centerY, dz = pz - effect.centerZ;
+        double nearest = Math.sqrt(dx * dx + dy * dy + dz * dz) - effect.radius;
+        if (nearest > viewDistance) return 0;
+
+        // Level of detail: every point up close, every 2nd point at mid range, every 4th far away
+        int stride;
+        if (nearest <= viewDistance / 3) {
+            stride = 1;
+        } else if (nearest <= viewDistance * 2 / 3) {
+            stride = 2;
+        } else {
+            stride = 4;
+        }
+
+        double viewDistanceSquared = viewDistance * viewDistance;
+        int sent = 0;
+        for (int i = 0; i < effect.xs.length && sent + effect.count <= budget; i += stride) {
+            double ox = effect.xs[i] - px, oy = effect.ys[i] - py, oz = effect.zs[i] - pz;
+            if (ox * ox + oy * oy + oz * oz > viewDistanceSquared) continue;
+
+            viewer.spawnParticle(effect.particle, effect.xs[i], effect.ys[i], effect.zs[i], effect.count,
+                    effect.spreadX, effect.spreadY, effect.spreadZ, 0);
+            sent += effect.count;
+        }
+        return sent;
+    }
+}
@@ -0,0 +1,51 @@
+package io.ocf;
+
+import org.bukkit.Bukkit;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.Listener;
+import org.bukkit.plugin.java.JavaPlugin;
+
+import java.util.*;
+
+/**
+ * Listeners that are only registered while the game is in certain phases. Switching
+ * phase unregisters the listeners the new phase doesn't use, so handlers for other
+ * phases cost nothing.
+ */
+public class PhaseListeners {
+    private final JavaPlugin plugin;
+    private final Map<GameManager.GameState, List<Listener>> byPhase = new EnumMap<>(GameManager.GameState.class);
+    private final Set<Listener> registered = new HashSet<>();
+
+    public PhaseListeners(JavaPlugin plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Registers the listener for each of the given phases. Takes effect on the next phase change.
+     */
+    public void add(Listener listener, GameManager.GameState... phases) {
+        for (GameManager.GameState phase : phases) {
+            byPhase.computeIfAbsent(phase, p -> new ArrayList<>()).add(listener);
+        }
+    }
+
+    public void enter(GameManager.GameState phase) {
+        List<Listener> active = byPhase.getOrDefault(phase, List.of());
+
+        // Listeners shared with the previous phase stay registered
+        Iterator<Listener> iterator = registered.iterator();
+        while (iterator.hasNext()) {
+            Listener listener = iterator.next();
+            if (!active.contains(listener)) {
+                HandlerList.unregisterAll(listener);
+                iterator.remove();
+            }
+        }
+        for (Listener listener : active) {
+            if (registered.add(listener)) {
+                Bukkit.getPluginManager().registerEvents(listener, plugin);
+            }
+        }
+    }
+}
@@ -8,13 +8,21 @@ import org.bukkit.plugin.java.JavaPlugin;
 
 import java.util.UUID;
 
+/**
+ * A player's team, kit and chat mode. The values are kept in fields, so reading them is
+ * cheap and safe from the async chat thread. They are written through to the player's
+ * PDC when they change and again when the player quits, so they survive relogs.
+ */
 public class PlayerData {
     private static NamespacedKey teamKey;
     private static NamespacedKey chatModeKey;
     private static NamespacedKey kitKey;
 
     private final UUID playerId;
-    private Player player;
+    private volatile Player player;
+    private volatile Team team;
+    private volatile String kit;
+    private volatile ChatMode chatMode = ChatMode.GLOBAL;
 
     public enum Team {
         ATTACKERS, DEFENDERS
@@ -33,6 +41,52 @@ public class PlayerData {
     public PlayerData(Player player) {
         this.player = player;
         this.playerId = player.getUniqueId();
+        load();
+    }
+
+    /**
+     * Reads the session state from the player's PDC, where it survives relogs.
+     */
+    private void load() {
+        PersistentDataContainer pdc = player.getPersistentDataContainer();
+        String teamName = pdc.get(teamKey, PersistentDataType.STRING);
+        if (teamName != null) {
+            try {
+                team = Team.valueOf(teamName);
+            } catch (IllegalArgumentException e) {
+                team = null;
+            }
+        }
+
+        String modeName = pdc.get(chatModeKey, PersistentDataType.STRING);
+        if (modeName != null) {
+            try {
+                chatMode = ChatMode.valueOf(modeName);
+            } catch (IllegalArgumentException e) {
+                chatMode = ChatMode.GLOBAL;
+            }
+        }
+
+        String kitName = pdc.get(kitKey, PersistentDataType.STRING);
+        kit = kitName != null ? kitName.intern() : null;
+    }
+
+    /**
+     * Writes the whole session state to the PDC, e.g. when the player quits.
+     */
+    public void save() {
+        PersistentDataContainer pdc = player.getPersistentDataContainer();
+        writeString(pdc, teamKey, team != null ? team.name() : null);
+        writeString(pdc, chatModeKey, chatMode.name());
+        writeString(pdc, kitKey, kit);
+    }
+
+    private static void writeString(PersistentDataContainer pdc, NamespacedKey key, String value) {
+        if (value != null) {
+            pdc.set(key, PersistentDataType.STRING, value);
+        } else {
+            pdc.remove(key);
+        }
     }
 
     public void updatePlayer(Player player) {
@@ -48,66 +102,52 @@ public class PlayerData {
     }
 
     public void setTeam(Team team) {
-        PersistentDataContainer pdc = player.getPersistentDataContainer();
-        pdc.set(teamKey, PersistentDataType.STRING, team.name());
+        if (this.team == team) return;
+        this.team = team;
+        writeString(player.getPersistentDataContainer(), teamKey, team.name());
     }
 
     public Team getTeam() {
-        PersistentDataContainer pdc = player.getPersistentDataContainer();
-        String teamName = pdc.get(teamKey, PersistentDataType.STRING);
-        if (teamName != null) {
-            try {
-                return Team.valueOf(teamName);
-            } catch (IllegalArgumentException e) {
-                return null;
-            }
-        }
-        return null;
+        return team;
     }
 
     public void setChatMode(ChatMode mode) {
-        PersistentDataContainer pdc = player.getPersistentDataContainer();
-        pdc.set(chatModeKey, PersistentDataType.STRING, mode.name());
+        if (chatMode == mode) return;
+        chatMode = mode;
+        writeString(player.getPersistentDataContainer(), chatModeKey, mode.name());
     }
 
     public ChatMode getChatMode() {
-        PersistentDataContainer pdc = player.getPersistentDataContainer();
-        String modeName = pdc.get(chatModeKey, PersistentDataType.STRING);
-        if (modeName != null) {
-            try {
-                return ChatMode.valueOf(modeName);
-            } catch (IllegalArgumentException e) {
-                return ChatMode.GLOBAL;
-            }
-        }
-        return ChatMode.GLOBAL;
+        return chatMode;
     }
 
     public void clearTeam() {
-        PersistentDataContainer pdc = player.getPersistentDataContainer();
-        pdc.remove(teamKey);
+        if (team == null) return;
+        team = null;
+        writeString(player.getPersistentDataContainer(), teamKey, null);
     }
 
     public void setKit(String kitName) {
-        PersistentDataContainer pdc = player.getPersistentDataContainer();
-        pdc.set(kitKey, PersistentDataType.STRING, kitName);
+        if (kitName.equals(kit)) return;
+        kit = kitName.intern();
+        writeString(player.getPersistentDataContainer(), kitKey, kit);
     }
 
     public String getKit() {
-        PersistentDataContainer pdc = player.getPersistentDataContainer();
-        return pdc.get(kitKey, PersistentDataType.STRING);
+        return kit;
     }
 
     public boolean hasKit() {
-        return getKit() != null;
+        return kit != null;
     }
 
     public void clearKit() {
-        PersistentDataContainer pdc = player.getPersistentDataContainer();
-        pdc.remove(kitKey);
+        if (kit == null) return;
+        kit = null;
+        writeString(player.getPersistentDataContainer(), kitKey, null);
     }
 
     public boolean isReady() {
-        return getTeam() != null && hasKit();
+        return team != null && kit != null;
     }
 }
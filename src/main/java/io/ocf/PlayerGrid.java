@@ -0,0 +1,211 @@
+package io.ocf;
+
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * Positions of the players in the arena, split by team and bucketed into 16x16 block
+ * columns. Rebuilt once per tick by {@link #refresh(World)}, so radius and nearest
+ * player queries only look at players in nearby cells.
+ */
+public class PlayerGrid {
+    private static final int CELL_SHIFT = 4;
+    private static final int NONE = -1;
+
+    private final TeamManager teamManager;
+    private final Cells[] teams = new Cells[PlayerData.Team.values().length];
+
+    public PlayerGrid(TeamManager teamManager) {
+        this.teamManager = teamManager;
+        for (int i = 0; i < teams.length; i++) {
+            teams[i] = new Cells();
+        }
+    }
+
+    /**
+     * One team's players. Coordinates are packed as x, y, z triples and every cell is a
+     * linked list through {@code next}, found via an open-addressing table keyed by cell.
+     */
+    private static class Cells {
+        private Player[] players = new Player[16];
+        private double[] coords = new double[16 * 3];
+        private int[] next = new int[16];
+        private int count = 0;
+
+        private long[] cellKeys = new long[32];
+        private int[] cellHeads = new int[32];
+        private int[] cellStamps = new int[32];
+        private int stamp = 0;
+
+        void reset() {
+            Arrays.fill(players, 0, count, null);
+            count = 0;
+        }
+
+        void add(Player player, double x, double y, double z) {
+            if (count == players.length) {
+                int capacity = count * 2;
+                players = Arrays.copyOf(players, capacity);
+                coords = Arrays.copyOf(coords, capacity * 3);
+                next = Arrays.copyOf(next, capacity);
+            }
+            players[count] = player;
+            coords[count * 3] = x;
+            coords[count * 3 + 1] = y;
+            coords[count * 3 + 2] = z;
+            count++;
+        }
+
+        void build() {
+            // Keep the table at most half full
+            if (cellKeys.length < count * 2) {
+                int capacity = Integer.highestOneBit(count * 2) << 1;
+                cellKeys = new long[capacity];
+                cellHeads = new int[capacity];
+                cellStamps = new int[capacity];
+                stamp = 0;
+            }
+            stamp++;
+
+            for (int i = 0; i < count; i++) {
+                long key = cellKey(cell(coords[i * 3]), cell(coords[i * 3 + 2]));
+                int slot = findSlot(key);
+                if (cellStamps[slot] != stamp) {
+                    cellStamps[slot] = stamp;
+                    cellKeys[slot] = key;
+                    cellHeads[slot] = NONE;
+                }
+                next[i] = cellHeads[slot];
+                cellHeads[slot] = i;
+            }
+        }
+
+        /**
+         * The slot holding the key, or the empty slot where it would go.
+         */
+        private int findSlot(long key) {
+            int mask = cellKeys.length - 1;
+            int slot = (int) (mix(key) & mask);
+            while (cellStamps[slot] == stamp && cellKeys[slot] != key) {
+                slot = (slot + 1) & mask;
+            }
+            return slot;
+        }
+
+        int head(int cellX, int cellZ) {
+            int slot = findSlot(cellKey(cellX, cellZ));
+            return cellStamps[slot] == stamp ? cellHeads[slot] : NONE;
+        }
+
+        double distanceSquared(int i, double x, double y, double z) {
+            double dx = coords[i * 3] - x;
+            double dy = coords[i * 3 + 1] - y;
+            double dz = coords[i * 3 + 2] - z;
+            return dx * dx + dy * dy + dz * dz;
+        }
+    }
+
+    private static int cell(double coordinate) {
+        return (int) Math.floor(coordinate) >> CELL_SHIFT;
+    }
+
+    private static long cellKey(int cellX, int cellZ) {
+        return ((long) cellX << 32) | (cellZ & 0xFFFFFFFFL);
+    }
+
+    private static long mix(long key) {
+        key *= 0x9E3779B97F4A7C15L;
+        return key ^ (key >>> 32);
+    }
+
+    /**
+     * Re-reads every player position in the world. Players without a team are ignored.
+     */
+    public void refresh(World world) {
+        for (Cells cells : teams) {
+            cells.reset();
+        }
+        if (world == null) return;
+
+        for (Player player : world.getPlayers()) {
+            PlayerData.Team team = teamManager.getPlayerData(player).getTeam();
+            if (team == null) continue;
+            Location location = player.getLocation();
+            teams[team.ordinal()].add(player, location.getX(), location.getY(), location.getZ());
+        }
+
+        for (Cells cells : teams) {
+            cells.build();
+        }
+    }
+
+    public void clear() {
+        for (Cells cells : teams) {
+            cells.reset();
+            cells.build();
+        }
+    }
+
+    public int count(PlayerData.Team team) {
+        return teams[team.ordinal()].count;
+    }
+
+    public void forEach(PlayerData.Team team, Consumer<Player> action) {
+        Cells cells = teams[team.ordinal()];
+        for (int i = 0; i < cells.count; i++) {
+            action.accept(cells.players[i]);
+        }
+    }
+
+    /**
+     * Runs the action for every player of the team within {@code radius} blocks of the center.
+     */
+    public void forEachWithin(PlayerData.Team team, Location center, double radius, Consumer<Player> action) {
+        forEachWithin(team, center.getX(), center.getY(), center.getZ(), radius, action);
+    }
+
+    public void forEachWithin(PlayerData.Team team, double x, double y, double z, double radius,
+                              Consumer<Player> action) {
+        Cells cells = teams[team.ordinal()];
+        if (cells.count == 0) return;
+
+        double radiusSquared = radius * radius;
+        for (int cellX = cell(x - radius); cellX <= cell(x + radius); cellX++) {
+            for (int cellZ = cell(z - radius); cellZ <= cell(z + radius); cellZ++) {
+                for (int i = cells.head(cellX, cellZ); i != NONE; i = cells.next[i]) {
+                    if (cells.distanceSquared(i, x, y, z) <= radiusSquared) {
+                        action.accept(cells.players[i]);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * The closest player of the team within {@code radius} blocks of the center, or null.
+     */
+    public Player findNearest(PlayerData.Team team, Location center, double radius) {
+        Cells cells = teams[team.ordinal()];
+        if (cells.count == 0) return null;
+
+        double x = center.getX(), y = center.getY(), z = center.getZ();
+        double bestDistanceSquared = radius * radius;
+        Player nearest = null;
+        for (int cellX = cell(x - radius); cellX <= cell(x + radius); cellX++) {
+            for (int cellZ = cell(z - radius); cellZ <= cell(z + radius); cellZ++) {
+                for (int i = cells.head(cellX, cellZ); i != NONE; i = cells.next[i]) {
+                    double distanceSquared = cells.distanceSquared(i, x, y, z);
+                    if (distanceSquared <= bestDistanceSquared) {
+                        bestDistanceSquared = distanceSquared;
+                        nearest = cells.players[i];
+                    }
+                }
+            }
+        }
+        return nearest;
+    }
+}
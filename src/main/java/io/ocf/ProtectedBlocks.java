@@ -0,0 +1,109 @@
+package io.ocf;
+
+import org.bukkit.World;
+import org.bukkit.block.Block;
+
+import java.util.Arrays;
+
+/**
+ * Blocks of the arena that players and explosions may not change: the flag and the
+ * platforms. Positions are packed into a {@code long} and kept in an open-addressing
+ * table, so lookups don't allocate.
+ */
+public class ProtectedBlocks {
+    public enum Kind {
+        PROTECTED,  // Can't be broken, replaced or blown up
+        OBJECTIVE   // Can only be broken by the team attacking it
+    }
+
+    private static final Kind[] KINDS = Kind.values();
+    private static final byte EMPTY = 0;
+
+    private World world;
+    private long[] keys = new long[256];
+    private byte[] kinds = new byte[256]; // Kind ordinal + 1, or EMPTY
+    private int size = 0;
+
+    /**
+     * Same layout as Paper's {@code Block.getBlockKey()}.
+     */
+    public static long pack(int x, int y, int z) {
+        return ((long) x & 0x7FFFFFF) | (((long) z & 0x7FFFFFF) << 27) | ((long) y << 54);
+    }
+
+    /**
+     * Empties the index and starts tracking blocks in the given world.
+     */
+    public void reset(World world) {
+        this.world = world;
+        Arrays.fill(kinds, EMPTY);
+        size = 0;
+    }
+
+    public void add(int x, int y, int z, Kind kind) {
+        // Keep the table at most half full
+        if ((size + 1) * 2 > keys.length) {
+            grow();
+        }
+        long key = pack(x, y, z);
+        int slot = findSlot(key);
+        if (kinds[slot] == EMPTY) {
+            keys[slot] = key;
+            size++;
+        }
+        kinds[slot] = (byte) (kind.ordinal() + 1);
+    }
+
+    /**
+     * Protects every block of a structure pasted with its origin at x, y, z.
+     */
+    public void addStructure(StructureStamper.Structure structure, int x, int y, int z) {
+        int[] offsets = structure.getOffsets();
+        for (int i = 0; i < offsets.length; i += 3) {
+            add(x + offsets[i], y + offsets[i + 1], z + offsets[i + 2], Kind.PROTECTED);
+        }
+    }
+
+    /**
+     * The kind of the block, or null if it isn't in the index.
+     */
+    public Kind get(Block block) {
+        if (size == 0 || block.getWorld() != world) return null;
+        int slot = findSlot(pack(block.getX(), block.getY(), block.getZ()));
+        return kinds[slot] == EMPTY ? null : KINDS[kinds[slot] - 1];
+    }
+
+    public boolean contains(Block block) {
+        return get(block) != null;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * The slot holding the key, or the empty slot where it would go.
+     */
+    private int findSlot(long key) {
+        int mask = keys.length - 1;
+        long hash = key * 0x9E3779B97F4A7C15L;
+        int slot = (int) (hash ^ (hash >>> 32)) & mask;
+        while (kinds[slot] != EMPTY && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void grow() {
+        long[] oldKeys = keys;
+        byte[] oldKinds = kinds;
+        keys = new long[oldKeys.length * 2];
+        kinds = new byte[oldKinds.length * 2];
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKinds[i] == EMPTY) continue;
+            int slot = findSlot(oldKeys[i]);
+            keys[slot] = oldKeys[i];
+            kinds[slot] = oldKinds[i];
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package io.ocf;
+
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.Listener;
+import org.bukkit.event.entity.EntityDamageByEntityEvent;
+
+/**
+ * Prevents PvP in an arena before its game starts. Registered during INIT and COUNTDOWN.
+ */
+public class PvpProtectionListener implements Listener {
+    private final GameManager gameManager;
+
+    public PvpProtectionListener(GameManager gameManager) {
+        this.gameManager = gameManager;
+    }
+
+    @EventHandler
+    public void onEntityDamage(EntityDamageByEntityEvent event) {
+        if (event.getDamager() instanceof Player && event.getEntity() instanceof Player victim
+                && gameManager.hasPlayer(victim)) {
+            event.setCancelled(true);
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package io.ocf;
+
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.Sound;
+import org.bukkit.entity.Item;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.bukkit.util.Vector;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.logging.Logger;
+
+/**
+ * Item generators of an arena, configured in the {@code generators} config list. Every
+ * generator keeps a single item entity and grows its stack up to a cap instead of
+ * dropping a new item each time, so unclaimed items don't pile up. All generators are
+ * driven by one {@link #tick()} per tick.
+ */
+public class ResourceGenerators {
+    public enum Anchor {
+        FLAG,   // The flag block
+        CENTER  // The center of the world border
+    }
+
+    public record Spec(
+            String name,
+            Anchor anchor,
+            int offsetX,
+            int offsetZ,
+            Material material,
+            int amount,
+            int intervalTicks,
+            int maxStack,
+            PlayerData.Team team
+    ) {}
+
+    private static class Generator {
+        final Spec spec;
+        final Location location;
+        Item entity;
+        int countdown;
+
+        Generator(Spec spec, Location location) {
+            this.spec = spec;
+            this.location = location;
+            this.countdown = spec.intervalTicks();
+        }
+    }
+
+    private final JavaPlugin plugin;
+    private final BiConsumer<PlayerData.Team, Integer> teamIncome;
+    private final List<Generator> generators = new ArrayList<>();
+    private boolean creditTeams = false;
+
+    /**
+     * @param teamIncome receives the output of team generators while teams are credited
+     *                   instead (see {@link #start})
+     */
+    public ResourceGenerators(JavaPlugin plugin, BiConsumer<PlayerData.Team, Integer> teamIncome) {
+        this.plugin = plugin;
+        this.teamIncome = teamIncome;
+    }
+
+    /**
+     * Places the generators around the flag and border center.
+     *
+     * @param creditTeams whether generators owned by a team credit that team's copper
+     *                    balance instead of producing items
+     */
+    public void start(List<Spec> specs, ArenaHeightmap heightmap, Location flag, Location center, boolean creditTeams) {
+        clear();
+        this.creditTeams = creditTeams;
+
+        for (Spec spec : specs) {
+            Location anchor = spec.anchor() == Anchor.FLAG ? flag : center;
+            Location location;
+            if (spec.anchor() == Anchor.FLAG && spec.offsetX() == 0 && spec.offsetZ() == 0) {
+                // On top of the flag
+                location = flag.clone().add(0.5, 1, 0.5);
+            } else {
+                location = heightmap.getSurfaceLocation(anchor.getBlockX() + spec.offsetX(),
+                        anchor.getBlockZ() + spec.offsetZ()).add(0.5, 1, 0.5);
+            }
+            generators.add(new Generator(spec, location));
+        }
+        plugin.getLogger().info("Placed " + generators.size() + " resource generators");
+    }
+
+    /**
+     * Parses the {@code generators} config list.
+     */
+    public static List<Spec> parseSpecs(List<?> list, Logger logger) {
+        List<Spec> specs = new ArrayList<>();
+        if (list == null) return specs;
+
+        for (Object obj : list) {
+            if (!(obj instanceof Map<?, ?> map)) continue;
+
+            String name = String.valueOf(map.get("name"));
+            Anchor anchor;
+            try {
+                anchor = Anchor.valueOf(String.valueOf(map.get("anchor")).toUpperCase());
+            } catch (IllegalArgumentException e) {
+                logger.warning("Invalid anchor for generator " + name + ": " + map.get("anchor"));
+                continue;
+            }
+            Material material = Material.matchMaterial(String.valueOf(map.get("item")));
+            if (material == null) {
+                logger.warning("Invalid item for generator " + name + ": " + map.get("item"));
+                continue;
+            }
+
+            PlayerData.Team team = null;
+            if (map.get("team") instanceof String teamName) {
+                try {
+                    team = PlayerData.Team.valueOf(teamName.toUpperCase());
+                } catch (IllegalArgumentException e) {
+                    logger.warning("Invalid team for generator " + name + ": " + teamName);
+                }
+            }
+
+            List<?> offset = map.get("offset") instanceof List<?> l ? l : List.of();
+            int offsetX = offset.size() > 0 && offset.get(0) instanceof Number n ? n.intValue() : 0;
+            int offsetZ = offset.size() > 1 && offset.get(1) instanceof Number n ? n.intValue() : 0;
+            int amount = map.get("amount") instanceof Number n ? n.intValue() : 1;
+            int intervalSeconds = map.get("interval_seconds") instanceof Number n ? n.intValue() : 5;
+            int maxStack = map.get("max_stack") instanceof Number n ? n.intValue() : material.getMaxStackSize();
+
+            specs.add(new Spec(name, anchor, offsetX, offsetZ, material, Math.max(1, amount),
+                    Math.max(1, intervalSeconds * 20), Math.max(1, maxStack), team));
+        }
+        return specs;
+    }
+
+    /**
+     * Advances every generator by one tick.
+     */
+    public void tick() {
+        for (Generator generator : generators) {
+            if (--generator.countdown > 0) continue;
+            generator.countdown = generator.spec.intervalTicks();
+
+            Spec spec = generator.spec;
+            if (creditTeams && spec.team() != null) {
+                teamIncome.accept(spec.team(), spec.amount());
+            } else {
+                produce(generator);
+            }
+        }
+    }
+
+    private void produce(Generator generator) {
+        Spec spec = generator.spec;
+        Item entity = generator.entity;
+
+        if (entity != null && entity.isValid()) {
+            // Grow the existing stack up to the cap
+            ItemStack stack = entity.getItemStack();
+            if (stack.getAmount() >= spec.maxStack()) return;
+            stack.setAmount(Math.min(spec.maxStack(), stack.getAmount() + spec.amount()));
+            entity.setItemStack(stack);
+        } else {
+            Location location = generator.location;
+            entity = location.getWorld().dropItem(location,
+                    new ItemStack(spec.material(), Math.min(spec.maxStack(), spec.amount())));
+            entity.setVelocity(new Vector(0, 0, 0));
+            entity.setUnlimitedLifetime(true);
+            entity.setCanMobPickup(false);
+            generator.entity = entity;
+        }
+        generator.location.getWorld().playSound(generator.location, Sound.ENTITY_CHICKEN_EGG, 1.0f, 1.0f);
+    }
+
+    /**
+     * Removes every generator and its item entity.
+     */
+    public void clear() {
+        for (Generator generator : generators) {
+            Item entity = generator.entity;
+            if (entity != null) {
+                entity.remove();
+            }
+        }
+        generators.clear();
+        creditTeams = false;
+    }
+}
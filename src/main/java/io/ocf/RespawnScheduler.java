@@ -0,0 +1,201 @@
+package io.ocf;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.format.NamedTextColor;
+import net.kyori.adventure.title.Title;
+import org.bukkit.entity.Player;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * Pending respawns kept in a two-level timing wheel. {@link #tick()} must be called every
+ * tick: it fires the respawns due on that tick and, once per second, refreshes every
+ * countdown title in a single pass over the pending players.
+ * <p>
+ * Level 0 has one slot per tick for the next 64 ticks, level 1 one slot per 64 ticks.
+ * Entries are stored in parallel arrays and linked through {@code next}; slot heads are
+ * stamped with an epoch so {@link #clear()} does not have to touch any entry.
+ */
+public class RespawnScheduler {
+    private static final int WHEEL_BITS = 6;
+    private static final int WHEEL_SIZE = 1 << WHEEL_BITS;
+    private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+    private static final int NONE = -1;
+
+    private final Consumer<Player> onRespawn;
+
+    // Entries
+    private Player[] players = new Player[16];
+    private long[] deadlines = new long[16];
+    private int[] next = new int[16];
+    private int[] livePosition = new int[16];
+    private int allocated = 0;
+    private int freeHead = NONE;
+
+    // Dense list of pending entries, for the title pass
+    private int[] live = new int[16];
+    private int liveCount = 0;
+
+    // Wheels
+    private final int[] level0 = new int[WHEEL_SIZE];
+    private final int[] level1 = new int[WHEEL_SIZE];
+    private final int[] level0Epoch = new int[WHEEL_SIZE];
+    private final int[] level1Epoch = new int[WHEEL_SIZE];
+    private int epoch = 1;
+    private long now = 0;
+
+    public RespawnScheduler(Consumer<Player> onRespawn) {
+        this.onRespawn = onRespawn;
+    }
+
+    /**
+     * Schedules a respawn {@code seconds} seconds from now and shows the first title.
+     */
+    public void schedule(Player player, int seconds) {
+        int entry = allocate();
+        players[entry] = player;
+        deadlines[entry] = now + Math.max(1, seconds * 20L);
+
+        livePosition[entry] = liveCount;
+        live[liveCount++] = entry;
+
+        insert(entry);
+        showTitle(entry);
+    }
+
+    /**
+     * Drops the player's pending respawn, if any. The entry stays in its slot and is
+     * recycled when the slot comes up.
+     */
+    public void cancel(Player player) {
+        for (int i = 0; i < liveCount; i++) {
+            int entry = live[i];
+            if (players[entry] == player) {
+                removeLive(entry);
+                players[entry] = null;
+                return;
+            }
+        }
+    }
+
+    public int getPendingCount() {
+        return liveCount;
+    }
+
+    /**
+     * Drops every pending respawn without visiting them.
+     */
+    public void clear() {
+        epoch++;
+        allocated = 0;
+        freeHead = NONE;
+        liveCount = 0;
+    }
+
+    public void tick() {
+        now++;
+
+        // Every 64 ticks, move the entries of the next level 1 slot down to level 0
+        if ((now & WHEEL_MASK) == 0) {
+            int slot = (int) ((now >> WHEEL_BITS) & WHEEL_MASK);
+            int entry = head(level1, level1Epoch, slot);
+            level1[slot] = NONE;
+            while (entry != NONE) {
+                int following = next[entry];
+                insert(entry);
+                entry = following;
+            }
+        }
+
+        // Fire everything due on this tick
+        int slot = (int) (now & WHEEL_MASK);
+        int entry = head(level0, level0Epoch, slot);
+        level0[slot] = NONE;
+        while (entry != NONE) {
+            int following = next[entry];
+            Player player = players[entry];
+            if (player != null) {
+                removeLive(entry);
+                free(entry);
+                onRespawn.accept(player);
+            } else {
+                // Cancelled
+                free(entry);
+            }
+            entry = following;
+        }
+
+        // Refresh the countdown titles once per second
+        if (now % 20 == 0) {
+            for (int i = 0; i < liveCount; i++) {
+                showTitle(live[i]);
+            }
+        }
+    }
+
+    private void showTitle(int entry) {
+        long remaining = (deadlines[entry] - now + 19) / 20;
+        if (remaining <= 0) return;
+        Title title = Title.title(
+                Component.text("Respawning in " + remaining + "s", NamedTextColor.RED),
+                Component.empty(),
+                Title.Times.times(Duration.ZERO, Duration.ofMillis(1100), Duration.ZERO)
+        );
+        players[entry].showTitle(title);
+    }
+
+    private void insert(int entry) {
+        long delta = deadlines[entry] - now;
+        if (delta < WHEEL_SIZE) {
+            int slot = (int) (deadlines[entry] & WHEEL_MASK);
+            push(level0, level0Epoch, slot, entry);
+        } else {
+            // Deadlines more than 64 * 64 ticks away wrap around and are re-inserted when their slot comes up
+            int slot = (int) ((deadlines[entry] >> WHEEL_BITS) & WHEEL_MASK);
+            push(level1, level1Epoch, slot, entry);
+        }
+    }
+
+    private int head(int[] wheel, int[] wheelEpoch, int slot) {
+        return wheelEpoch[slot] == epoch ? wheel[slot] : NONE;
+    }
+
+    private void push(int[] wheel, int[] wheelEpoch, int slot, int entry) {
+        next[entry] = head(wheel, wheelEpoch, slot);
+        wheel[slot] = entry;
+        wheelEpoch[slot] = epoch;
+    }
+
+    private int allocate() {
+        if (freeHead != NONE) {
+            int entry = freeHead;
+            freeHead = next[entry];
+            return entry;
+        }
+        if (allocated == players.length) {
+            int capacity = allocated * 2;
+            players = Arrays.copyOf(players, capacity);
+            deadlines = Arrays.copyOf(deadlines, capacity);
+            next = Arrays.copyOf(next, capacity);
+            livePosition = Arrays.copyOf(livePosition, capacity);
+            live = Arrays.copyOf(live, capacity);
+        }
+        return allocated++;
+    }
+
+    private void removeLive(int entry) {
+        // Swap-remove from the live list
+        int position = livePosition[entry];
+        int last = live[--liveCount];
+        live[position] = last;
+        livePosition[last] = position;
+    }
+
+    private void free(int entry) {
+        players[entry] = null;
+        next[entry] = freeHead;
+        freeHead = entry;
+    }
+}
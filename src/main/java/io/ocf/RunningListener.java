@@ -0,0 +1,147 @@
+package io.ocf;
+
+import org.bukkit.Location;
+import org.bukkit.block.Block;
+import org.bukkit.Material;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.block.BlockBreakEvent;
+import org.bukkit.event.block.BlockExplodeEvent;
+import org.bukkit.event.block.BlockPistonExtendEvent;
+import org.bukkit.event.block.BlockPistonRetractEvent;
+import org.bukkit.event.block.BlockPlaceEvent;
+import org.bukkit.event.entity.EntityExplodeEvent;
+import org.bukkit.event.entity.PlayerDeathEvent;
+import org.bukkit.event.player.PlayerMoveEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.event.player.PlayerTeleportEvent;
+
+import java.util.List;
+
+/**
+ * Flag, protected block, heightmap, zone and death handling while an arena's game is in progress.
+ * Only registered during RUNNING.
+ */
+public class RunningListener implements Listener {
+    private final GameManager gameManager;
+    private final TeamManager teamManager;
+
+    public RunningListener(GameManager gameManager, TeamManager teamManager) {
+        this.gameManager = gameManager;
+        this.teamManager = teamManager;
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onZoneMove(PlayerMoveEvent event) {
+        // Zones only change when the player reaches another block
+        Location from = event.getFrom();
+        Location to = event.getTo();
+        if (from.getBlockX() == to.getBlockX() && from.getBlockY() == to.getBlockY()
+                && from.getBlockZ() == to.getBlockZ() && from.getWorld() == to.getWorld()) {
+            return;
+        }
+        if (gameManager.hasPlayer(event.getPlayer())) {
+            gameManager.getZoneTracker().update(event.getPlayer(), to);
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onPlayerTeleport(PlayerTeleportEvent event) {
+        if (gameManager.hasPlayer(event.getPlayer())) {
+            gameManager.getZoneTracker().update(event.getPlayer(), event.getTo());
+        }
+    }
+
+    @EventHandler
+    public void onPlayerQuit(PlayerQuitEvent event) {
+        gameManager.getZoneTracker().remove(event.getPlayer());
+    }
+
+    @EventHandler
+    public void onBlockBreak(BlockBreakEvent event) {
+        ProtectedBlocks.Kind kind = gameManager.getProtectedBlocks().get(event.getBlock());
+        if (kind == null) return;
+
+        // Only attackers can break the flag; everything else in the index is unbreakable
+        if (kind == ProtectedBlocks.Kind.OBJECTIVE && event.getBlock().getType() == Material.ANCIENT_DEBRIS
+                && teamManager.getPlayerData(event.getPlayer()).getTeam() == PlayerData.Team.ATTACKERS) {
+            gameManager.handleFlagBroken(event.getPlayer());
+        } else {
+            event.setCancelled(true);
+        }
+    }
+
+    @EventHandler
+    public void onBlockPlace(BlockPlaceEvent event) {
+        if (gameManager.getProtectedBlocks().contains(event.getBlockPlaced())) {
+            event.setCancelled(true);
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onSurfaceBlockPlace(BlockPlaceEvent event) {
+        gameManager.handleBlockPlaced(event.getBlockPlaced());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onSurfaceBlockBreak(BlockBreakEvent event) {
+        gameManager.handleBlocksRemoved(List.of(event.getBlock()));
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onSurfaceEntityExplode(EntityExplodeEvent event) {
+        gameManager.handleBlocksRemoved(event.blockList());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onSurfaceBlockExplode(BlockExplodeEvent event) {
+        gameManager.handleBlocksRemoved(event.blockList());
+    }
+
+    @EventHandler
+    public void onEntityExplode(EntityExplodeEvent event) {
+        event.blockList().removeIf(gameManager.getProtectedBlocks()::contains);
+    }
+
+    @EventHandler
+    public void onBlockExplode(BlockExplodeEvent event) {
+        event.blockList().removeIf(gameManager.getProtectedBlocks()::contains);
+    }
+
+    @EventHandler
+    public void onPistonExtend(BlockPistonExtendEvent event) {
+        if (movesProtectedBlock(event.getBlocks())) {
+            event.setCancelled(true);
+        }
+    }
+
+    @EventHandler
+    public void onPistonRetract(BlockPistonRetractEvent event) {
+        if (movesProtectedBlock(event.getBlocks())) {
+            event.setCancelled(true);
+        }
+    }
+
+    private boolean movesProtectedBlock(List<Block> blocks) {
+        ProtectedBlocks protectedBlocks = gameManager.getProtectedBlocks();
+        for (Block block : blocks) {
+            if (protectedBlocks.contains(block)) return true;
+        }
+        return false;
+    }
+
+    @EventHandler(priority = EventPriority.HIGHEST)
+    public void onPlayerDeath(PlayerDeathEvent event) {
+        Player player = event.getEntity();
+        if (!gameManager.hasPlayer(player)) return;
+
+        // Cancel drops and normal death behavior
+        event.getDrops().clear();
+        event.setDroppedExp(0);
+
+        // Handle respawn through GameManager
+        gameManager.handlePlayerDeath(player);
+    }
+}
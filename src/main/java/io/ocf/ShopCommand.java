@@ -11,12 +11,12 @@ import org.jetbrains.annotations.NotNull;
 public class ShopCommand implements CommandExecutor {
     private final TeamManager teamManager;
     private final ShopManager shopManager;
-    private final GameManager gameManager;
+    private final ArenaManager arenaManager;
 
-    public ShopCommand(TeamManager teamManager, ShopManager shopManager, GameManager gameManager) {
+    public ShopCommand(TeamManager teamManager, ShopManager shopManager, ArenaManager arenaManager) {
         this.teamManager = teamManager;
         this.shopManager = shopManager;
-        this.gameManager = gameManager;
+        this.arenaManager = arenaManager;
     }
 
     @Override
@@ -27,7 +27,7 @@ public class ShopCommand implements CommandExecutor {
             return true;
         }
 
-        if (!gameManager.isRunning()) {
+        if (!arenaManager.getArena(player).isRunning()) {
             player.sendMessage(Component.text("The shop is only available during an active game!", NamedTextColor.RED));
             return true;
         }
@@ -4,7 +4,7 @@ import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.Listener;
 import org.bukkit.event.inventory.InventoryClickEvent;
-import org.bukkit.event.inventory.InventoryCloseEvent;
+import org.bukkit.event.inventory.InventoryDragEvent;
 
 public class ShopListener implements Listener {
     private final ShopManager shopManager;
@@ -16,18 +16,20 @@ public class ShopListener implements Listener {
     @EventHandler
     public void onInventoryClick(InventoryClickEvent event) {
         if (!(event.getWhoClicked() instanceof Player player)) return;
-        if (!shopManager.isShopInventory(player)) return;
+        if (!(event.getView().getTopInventory().getHolder(false) instanceof ShopManager.ShopHolder shop)) return;
 
         event.setCancelled(true);
 
         if (event.getClickedInventory() != event.getView().getTopInventory()) return;
 
-        shopManager.handleClick(player, event.getSlot());
+        shopManager.handleClick(player, shop, event.getSlot(), event.getClick());
     }
 
     @EventHandler
-    public void onInventoryClose(InventoryCloseEvent event) {
-        if (!(event.getPlayer() instanceof Player player)) return;
-        shopManager.handleClose(player);
+    public void onInventoryDrag(InventoryDragEvent event) {
+        // Shop inventories are shared, nothing may be dragged into them
+        if (event.getView().getTopInventory().getHolder(false) instanceof ShopManager.ShopHolder) {
+            event.setCancelled(true);
+        }
     }
 }
@@ -11,7 +11,10 @@ import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.InventoryHolder;
+import org.bukkit.event.inventory.ClickType;
 import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.PlayerInventory;
 import org.bukkit.inventory.meta.ItemMeta;
 import org.bukkit.plugin.java.JavaPlugin;
 
@@ -25,9 +28,35 @@ public class ShopManager {
     private final List<ShopTrade> defenderTrades = new ArrayList<>();
     private String attackerTitle = "Attacker Shop";
     private String defenderTitle = "Defender Shop";
-    
-    // Track open shop inventories
-    private final Map<UUID, PlayerData.Team> openShops = new HashMap<>();
+    private int bulkQuantity = 4;
+
+    // Built once per load and shared by everyone who opens the shop; clicks are cancelled
+    private final Map<PlayerData.Team, ShopHolder> shops = new EnumMap<>(PlayerData.Team.class);
+
+    /**
+     * Holder of a team's shop inventory, so shop views can be recognised by identity.
+     * Keeps the trades it was built from, so a view left open across a reload still
+     * sells what its slots show.
+     */
+    public static class ShopHolder implements InventoryHolder {
+        private final PlayerData.Team team;
+        private final List<ShopTrade> trades;
+        private Inventory inventory;
+
+        private ShopHolder(PlayerData.Team team, List<ShopTrade> trades) {
+            this.team = team;
+            this.trades = List.copyOf(trades);
+        }
+
+        public PlayerData.Team getTeam() {
+            return team;
+        }
+
+        @Override
+        public Inventory getInventory() {
+            return inventory;
+        }
+    }
 
     public record ShopTrade(
             Material inputMaterial,
@@ -61,6 +90,8 @@ public class ShopManager {
             return;
         }
 
+        bulkQuantity = Math.max(1, shopSection.getInt("bulk_quantity", 4));
+
         // Load attacker shop
         ConfigurationSection attackerSection = shopSection.getConfigurationSection("attackers");
         if (attackerSection != null) {
@@ -75,6 +106,11 @@ public class ShopManager {
             loadTrades(defenderSection, defenderTrades);
         }
 
+        shops.clear();
+        for (PlayerData.Team team : PlayerData.Team.values()) {
+            shops.put(team, createShop(team));
+        }
+
         plugin.getLogger().info("Loaded " + attackerTrades.size() + " attacker trades and " + defenderTrades.size() + " defender trades");
     }
 
@@ -93,6 +129,13 @@ public class ShopManager {
 
                 int inputAmount = tradeMap.get("input_amount") instanceof Number n ? n.intValue() : 1;
                 int outputAmount = tradeMap.get("output_amount") instanceof Number n ? n.intValue() : 1;
+                // Purchases are sized by dividing by the input amount, so every trade costs something
+                if (inputAmount < 1 || outputAmount < 1) {
+                    plugin.getLogger().warning("Trade amounts must be at least 1, clamping " + inputAmount + " "
+                            + inputItemStr + " -> " + outputAmount + " " + tradeMap.get("output_item"));
+                    inputAmount = Math.max(1, inputAmount);
+                    outputAmount = Math.max(1, outputAmount);
+                }
 
                 String outputItemStr = (String) tradeMap.get("output_item");
                 if (outputItemStr == null) {
@@ -119,20 +162,21 @@ public class ShopManager {
         }
     }
 
-    public Inventory createShopInventory(PlayerData.Team team) {
+    private ShopHolder createShop(PlayerData.Team team) {
         List<ShopTrade> trades = team == PlayerData.Team.ATTACKERS ? attackerTrades : defenderTrades;
         String title = team == PlayerData.Team.ATTACKERS ? attackerTitle : defenderTitle;
 
         int size = trades.size() <= 9 ? 9 : (trades.size() <= 18 ? 18 : (trades.size() <= 27 ? 27 : 54));
-        Inventory inv = Bukkit.createInventory(null, size, Component.text(title, NamedTextColor.DARK_GREEN));
+        ShopHolder holder = new ShopHolder(team, trades);
+        holder.inventory = Bukkit.createInventory(holder, size, Component.text(title, NamedTextColor.DARK_GREEN));
 
         for (int i = 0; i < trades.size(); i++) {
             ShopTrade trade = trades.get(i);
             ItemStack displayItem = createDisplayItem(trade);
-            inv.setItem(i, displayItem);
+            holder.inventory.setItem(i, displayItem);
         }
 
-        return inv;
+        return holder;
     }
 
     private ItemStack createDisplayItem(ShopTrade trade) {
@@ -161,6 +205,8 @@ public class ShopManager {
                     .append(Component.text(formatMaterialName(trade.inputMaterial()), NamedTextColor.GOLD)));
             lore.add(Component.text("Left-click to purchase", NamedTextColor.YELLOW)
                     .decoration(TextDecoration.ITALIC, false));
+            lore.add(Component.text("Right-click to buy " + bulkQuantity + ", shift-click to buy max", NamedTextColor.YELLOW)
+                    .decoration(TextDecoration.ITALIC, false));
             meta.lore(lore);
             item.setItemMeta(meta);
         }
@@ -187,30 +233,50 @@ public class ShopManager {
     }
 
     public void openShop(Player player, PlayerData.Team team) {
-        Inventory shop = createShopInventory(team);
-        openShops.put(player.getUniqueId(), team);
-        player.openInventory(shop);
+        ShopHolder shop = shops.get(team);
+        if (shop != null) {
+            player.openInventory(shop.getInventory());
+        }
     }
 
-    public boolean isShopInventory(Player player) {
-        return openShops.containsKey(player.getUniqueId());
-    }
+    /**
+     * Buys one trade on a left click, {@code bulk_quantity} trades on a right click and as
+     * many as the player can afford and carry on a shift click. Payment and the space check
+     * use a single snapshot of the inventory, and nothing is taken unless the whole
+     * output fits.
+     */
+    public boolean handleClick(Player player, ShopHolder shop, int slot, ClickType click) {
+        PlayerData.Team team = shop.getTeam();
+        List<ShopTrade> trades = shop.trades;
+        if (slot < 0 || slot >= trades.size()) return true;
 
-    public void handleClose(Player player) {
-        openShops.remove(player.getUniqueId());
-    }
+        ShopTrade trade = trades.get(slot);
+        int requested = click.isShiftClick() ? Integer.MAX_VALUE : (click.isRightClick() ? bulkQuantity : 1);
 
-    public boolean handleClick(Player player, int slot) {
-        PlayerData.Team team = openShops.get(player.getUniqueId());
-        if (team == null) return false;
+        // Output for a single trade, scaled once the quantity is known
+        ItemStack outputItem;
+        if (trade.isCustomOutput() && customItemManager != null) {
+            var customItem = customItemManager.getItem(trade.outputCustomItem());
+            if (customItem == null) {
+                player.sendMessage(Component.text("Error: Custom item not found!", NamedTextColor.RED));
+                return true;
+            }
+            outputItem = customItem.createItemStack(trade.outputAmount());
+        } else {
+            outputItem = new ItemStack(trade.outputMaterial(), trade.outputAmount());
+        }
 
-        List<ShopTrade> trades = team == PlayerData.Team.ATTACKERS ? attackerTrades : defenderTrades;
-        if (slot < 0 || slot >= trades.size()) return true;
+        // Copper is paid from the wallet when the arena keeps one
+        CopperWallet wallet = customItemManager != null
+                ? customItemManager.getArenaManager().getArena(player).getWallet() : null;
+        boolean useWallet = wallet != null && wallet.isEnabled() && trade.inputMaterial() == Material.COPPER_INGOT;
 
-        ShopTrade trade = trades.get(slot);
+        PlayerInventory inventory = player.getInventory();
+        ItemStack[] contents = inventory.getStorageContents();
 
-        // Count input material
-        int inputCount = countMaterial(player, trade.inputMaterial());
+        int inputCount = useWallet
+                ? wallet.getSpendable(player, team)
+                : countMaterial(contents, trade.inputMaterial());
 
         if (inputCount < trade.inputAmount()) {
             player.sendMessage(Component.text("Not enough ", NamedTextColor.RED)
@@ -220,41 +286,42 @@ public class ShopManager {
             return true;
         }
 
-        // Remove input materials
-        removeMaterial(player, trade.inputMaterial(), trade.inputAmount());
+        int quantity = Math.min(requested, inputCount / trade.inputAmount());
+        quantity = fitQuantity(contents, useWallet ? null : trade.inputMaterial(), trade.inputAmount(), outputItem, quantity);
+        if (quantity == 0) {
+            player.sendMessage(Component.text("Your inventory is full!", NamedTextColor.RED));
+            player.playSound(player.getLocation(), Sound.ENTITY_VILLAGER_NO, 1.0f, 1.0f);
+            return true;
+        }
 
-        // Give output item
-        ItemStack outputItem;
-        if (trade.isCustomOutput() && customItemManager != null) {
-            var customItem = customItemManager.getItem(trade.outputCustomItem());
-            if (customItem != null) {
-                outputItem = customItem.createItemStack(trade.outputAmount());
-            } else {
-                player.sendMessage(Component.text("Error: Custom item not found!", NamedTextColor.RED));
-                return true;
-            }
+        // Take the payment
+        int cost = quantity * trade.inputAmount();
+        if (useWallet) {
+            wallet.debit(player, team, cost);
+            wallet.showHud(player, team);
         } else {
-            outputItem = new ItemStack(trade.outputMaterial(), trade.outputAmount());
+            removeMaterial(inventory, contents, trade.inputMaterial(), cost);
         }
 
-        HashMap<Integer, ItemStack> overflow = player.getInventory().addItem(outputItem);
-        if (!overflow.isEmpty()) {
-            for (ItemStack item : overflow.values()) {
-                player.getWorld().dropItemNaturally(player.getLocation(), item);
-            }
+        // Give the whole output in one go; it was checked to fit
+        int outputAmount = quantity * trade.outputAmount();
+        outputItem.setAmount(outputAmount);
+        HashMap<Integer, ItemStack> overflow = inventory.addItem(outputItem);
+        for (ItemStack item : overflow.values()) {
+            player.getWorld().dropItemNaturally(player.getLocation(), item);
         }
 
         player.playSound(player.getLocation(), Sound.ENTITY_EXPERIENCE_ORB_PICKUP, 1.0f, 1.0f);
         player.sendMessage(Component.text("Purchased ", NamedTextColor.GREEN)
-                .append(Component.text(trade.outputAmount() + "x ", NamedTextColor.GOLD))
+                .append(Component.text(outputAmount + "x ", NamedTextColor.GOLD))
                 .append(Component.text(trade.isCustomOutput() ? trade.outputCustomItem() : formatMaterialName(trade.outputMaterial()), NamedTextColor.GOLD)));
 
         return true;
     }
 
-    private int countMaterial(Player player, Material material) {
+    private int countMaterial(ItemStack[] contents, Material material) {
         int count = 0;
-        for (ItemStack item : player.getInventory().getContents()) {
+        for (ItemStack item : contents) {
             if (item != null && item.getType() == material) {
                 count += item.getAmount();
             }
@@ -262,18 +329,55 @@ public class ShopManager {
         return count;
     }
 
-    private void removeMaterial(Player player, Material material, int amount) {
-        int remaining = amount;
-        ItemStack[] contents = player.getInventory().getContents();
+    /**
+     * The largest quantity up to {@code quantity} whose output fits into the inventory once
+     * the input for it has been taken. Input is paid from the first slots onwards, so a
+     * quantity frees every input stack it uses up. Pass a null input if it isn't paid
+     * with items.
+     */
+    private int fitQuantity(ItemStack[] contents, Material input, int inputAmount, ItemStack output, int quantity) {
+        int maxStack = output.getMaxStackSize();
+        int space = 0;
+        int[] inputStacks = new int[contents.length];
+        int inputCount = 0;
+        for (ItemStack item : contents) {
+            if (item == null || item.getType().isAir()) {
+                space += maxStack;
+            } else if (input != null && item.getType() == input) {
+                inputStacks[inputCount++] = item.getAmount();
+            } else if (item.isSimilar(output)) {
+                space += Math.max(0, maxStack - item.getAmount());
+            }
+        }
 
+        // Nothing more fits even if every input stack is used up
+        quantity = (int) Math.min(quantity, (space + (long) inputCount * maxStack) / output.getAmount());
+        for (; quantity > 0; quantity--) {
+            int cost = quantity * inputAmount;
+            int freed = 0;
+            for (int i = 0; i < inputCount && cost >= inputStacks[i]; i++) {
+                cost -= inputStacks[i];
+                freed++;
+            }
+            if ((long) space + (long) freed * maxStack >= (long) quantity * output.getAmount()) {
+                return quantity;
+            }
+        }
+        return 0;
+    }
+
+    private void removeMaterial(PlayerInventory inventory, ItemStack[] contents, Material material, int amount) {
+        int remaining = amount;
         for (int i = 0; i < contents.length && remaining > 0; i++) {
             ItemStack item = contents[i];
             if (item != null && item.getType() == material) {
                 int take = Math.min(remaining, item.getAmount());
-                item.setAmount(item.getAmount() - take);
                 remaining -= take;
-                if (item.getAmount() <= 0) {
-                    player.getInventory().setItem(i, null);
+                if (take == item.getAmount()) {
+                    inventory.setItem(i, null);
+                } else {
+                    item.setAmount(item.getAmount() - take);
+                    inventory.setItem(i, item);
                 }
             }
         }
@@ -0,0 +1,126 @@
+package io.ocf;
+
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.World;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * A precomputed pool of validated spawn columns. Spawns are handed out in a shuffled
+ * round-robin order so that players respawning together don't stack on one spot.
+ * Each column is checked against the heightmap again when it is handed out, since
+ * players may have built on it or dug it out in the meantime.
+ */
+public class SpawnCandidates {
+    private final ArenaHeightmap heightmap;
+    private final World world;
+    private int[] xs = new int[64];
+    private int[] zs = new int[64];
+    private int size = 0;
+    private int next = 0;
+
+    public SpawnCandidates(ArenaHeightmap heightmap) {
+        this.heightmap = heightmap;
+        this.world = heightmap.getWorld();
+    }
+
+    /**
+     * Every safe column within {@code radius} blocks of the center.
+     */
+    public static SpawnCandidates around(ArenaHeightmap heightmap, Location center, int radius) {
+        SpawnCandidates candidates = new SpawnCandidates(heightmap);
+        int centerX = center.getBlockX();
+        int centerZ = center.getBlockZ();
+        int radiusSquared = radius * radius;
+
+        for (int dx = -radius; dx <= radius; dx++) {
+            for (int dz = -radius; dz <= radius; dz++) {
+                if (dx * dx + dz * dz > radiusSquared) continue;
+                candidates.addIfSafe(centerX + dx, centerZ + dz);
+            }
+        }
+        candidates.shuffle(new Random());
+        return candidates;
+    }
+
+    /**
+     * Safe columns on a circle of {@code radius} blocks around the center, every 5 degrees.
+     */
+    public static SpawnCandidates onPerimeter(ArenaHeightmap heightmap, Location center, int radius) {
+        SpawnCandidates candidates = new SpawnCandidates(heightmap);
+        for (int i = 0; i < 72; i++) {
+            double angle = i * Math.PI / 36;
+            int x = (int) (center.getX() + radius * Math.cos(angle));
+            int z = (int) (center.getZ() + radius * Math.sin(angle));
+            candidates.addIfSafe(x, z);
+        }
+        candidates.shuffle(new Random());
+        return candidates;
+    }
+
+    private void addIfSafe(int x, int z) {
+        if (isSafe(x, z)) {
+            add(x, z);
+        }
+    }
+
+    private boolean isSafe(int x, int z) {
+        Material surface = heightmap.getSurfaceType(x, z);
+        return surface != Material.WATER && surface != Material.LAVA;
+    }
+
+    /**
+     * Adds a column; players spawn on top of its highest block.
+     */
+    public void add(int x, int z) {
+        if (size == xs.length) {
+            int capacity = size * 2;
+            xs = Arrays.copyOf(xs, capacity);
+            zs = Arrays.copyOf(zs, capacity);
+        }
+        xs[size] = x;
+        zs[size] = z;
+        size++;
+    }
+
+    private void shuffle(Random random) {
+        for (int i = size - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            swap(xs, i, j);
+            swap(zs, i, j);
+        }
+    }
+
+    private static void swap(int[] array, int i, int j) {
+        int tmp = array[i];
+        array[i] = array[j];
+        array[j] = tmp;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * The next spawn in rotation, centered on top of its column's current highest block.
+     * Columns that have been flooded since are skipped, unless all of them have.
+     */
+    public Location next() {
+        int i = next;
+        for (int attempt = 0; attempt < size; attempt++) {
+            int candidate = (next + attempt) % size;
+            if (isSafe(xs[candidate], zs[candidate])) {
+                i = candidate;
+                break;
+            }
+        }
+        next = (i + 1) % size;
+        return new Location(world, xs[i] + 0.5, heightmap.getHighestBlockY(xs[i], zs[i]) + 1, zs[i] + 0.5);
+    }
+}
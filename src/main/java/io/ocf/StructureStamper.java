@@ -0,0 +1,275 @@
+package io.ocf;
+
+import org.bukkit.Chunk;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.block.data.BlockData;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.bukkit.scheduler.BukkitRunnable;
+
+import java.util.*;
+
+/**
+ * Pastes block structures (platforms, bases) defined in the config's {@code structures}
+ * section. Blocks are grouped by chunk and set without physics; pastes larger than the
+ * per-tick budget continue over the following ticks.
+ */
+public class StructureStamper {
+    private final JavaPlugin plugin;
+    private final ConfigManager config;
+    private final Map<String, Structure> structures = new HashMap<>();
+    private final List<Paste> activePastes = new ArrayList<>();
+
+    public static class Structure {
+        private final String name;
+        private final int[] offsets; // dx, dy, dz triples relative to the origin
+        private final BlockData[] blocks;
+
+        public Structure(String name, int[] offsets, BlockData[] blocks) {
+            this.name = name;
+            this.offsets = offsets;
+            this.blocks = blocks;
+        }
+
+        /**
+         * A single layer square of one material, centered on the origin.
+         */
+        public static Structure square(String name, int radius, Material material) {
+            int side = radius * 2 + 1;
+            int[] offsets = new int[side * side * 3];
+            BlockData[] blocks = new BlockData[side * side];
+            BlockData data = material.createBlockData();
+            int i = 0;
+            for (int dx = -radius; dx <= radius; dx++) {
+                for (int dz = -radius; dz <= radius; dz++) {
+                    offsets[i * 3] = dx;
+                    offsets[i * 3 + 1] = 0;
+                    offsets[i * 3 + 2] = dz;
+                    blocks[i++] = data;
+                }
+            }
+            return new Structure(name, offsets, blocks);
+        }
+
+        public String getName() { return name; }
+        public int size() { return blocks.length; }
+        int[] getOffsets() { return offsets; }
+    }
+
+    /**
+     * A structure being pasted at a position, with its blocks sorted by chunk.
+     */
+    private class Paste {
+        private final World world;
+        private final int[] xs;
+        private final int[] ys;
+        private final int[] zs;
+        private final BlockData[] blocks;
+        private final Runnable onComplete;
+        private int next = 0;
+        private BukkitRunnable task;
+
+        Paste(World world, int[] xs, int[] ys, int[] zs, BlockData[] blocks, Runnable onComplete) {
+            this.world = world;
+            this.xs = xs;
+            this.ys = ys;
+            this.zs = zs;
+            this.blocks = blocks;
+            this.onComplete = onComplete;
+        }
+
+        /**
+         * Sets up to {@code budget} blocks; returns true once every block is placed.
+         */
+        boolean apply(int budget) {
+            int end = Math.min(blocks.length, next + budget);
+            Chunk chunk = null;
+            for (int i = next; i < end; i++) {
+                int chunkX = xs[i] >> 4;
+                int chunkZ = zs[i] >> 4;
+                if (chunk == null || chunk.getX() != chunkX || chunk.getZ() != chunkZ) {
+                    chunk = world.getChunkAt(chunkX, chunkZ);
+                }
+                chunk.getBlock(xs[i] & 15, ys[i], zs[i] & 15).setBlockData(blocks[i], false);
+            }
+            next = end;
+            return next >= blocks.length;
+        }
+    }
+
+    public StructureStamper(JavaPlugin plugin, ConfigManager config) {
+        this.plugin = plugin;
+        this.config = config;
+        loadStructures();
+    }
+
+    public void loadStructures() {
+        structures.clear();
+
+        ConfigurationSection structuresSection = plugin.getConfig().getConfigurationSection("structures");
+        if (structuresSection != null) {
+            for (String name : structuresSection.getKeys(false)) {
+                ConfigurationSection section = structuresSection.getConfigurationSection(name);
+                if (section == null) continue;
+
+                Structure structure = parseStructure(name, section);
+                if (structure != null) {
+                    structures.put(name.toLowerCase(), structure);
+                    plugin.getLogger().info("Loaded structure: " + name + " (" + structure.size() + " blocks)");
+                }
+            }
+        }
+
+        // The arena always needs a platform for the flag and attacker spawn
+        if (!structures.containsKey("platform")) {
+            structures.put("platform", Structure.square("platform", 2, Material.STONE_BRICKS));
+        }
+    }
+
+    /**
+     * Parses a structure from a palette of single-character keys and a list of layers
+     * (bottom to top), each a list of rows along Z where every character is one block
+     * along X. Spaces and unknown keys are left untouched.
+     */
+    private Structure parseStructure(String name, ConfigurationSection section) {
+        Map<Character, BlockData> palette = new HashMap<>();
+        ConfigurationSection paletteSection = section.getConfigurationSection("palette");
+        if (paletteSection != null) {
+            for (String key : paletteSection.getKeys(false)) {
+                Material material = Material.matchMaterial(paletteSection.getString(key, ""));
+                if (key.length() != 1 || material == null || !material.isBlock()) {
+                    plugin.getLogger().warning("Invalid palette entry '" + key + "' in structure " + name);
+                    continue;
+                }
+                palette.put(key.charAt(0), material.createBlockData());
+            }
+        }
+
+        List<Integer> origin = section.getIntegerList("origin");
+        int originX = origin.size() > 0 ? origin.get(0) : 0;
+        int originY = origin.size() > 1 ? origin.get(1) : 0;
+        int originZ = origin.size() > 2 ? origin.get(2) : 0;
+
+        List<Integer> offsets = new ArrayList<>();
+        List<BlockData> blocks = new ArrayList<>();
+        List<?> layers = section.getList("layers");
+        if (layers != null) {
+            for (int y = 0; y < layers.size(); y++) {
+                if (!(layers.get(y) instanceof List<?> rows)) continue;
+                for (int z = 0; z < rows.size(); z++) {
+                    String row = String.valueOf(rows.get(z));
+                    for (int x = 0; x < row.length(); x++) {
+                        BlockData data = palette.get(row.charAt(x));
+                        if (data == null) continue;
+                        offsets.add(x - originX);
+                        offsets.add(y - originY);
+                        offsets.add(z - originZ);
+                        blocks.add(data);
+                    }
+                }
+            }
+        }
+
+        if (blocks.isEmpty()) {
+            plugin.getLogger().warning("Structure " + name + " has no blocks");
+            return null;
+        }
+
+        int[] offsetArray = new int[offsets.size()];
+        for (int i = 0; i < offsetArray.length; i++) {
+            offsetArray[i] = offsets.get(i);
+        }
+        return new Structure(name, offsetArray, blocks.toArray(new BlockData[0]));
+    }
+
+    public Structure getStructure(String name) {
+        return structures.get(name.toLowerCase());
+    }
+
+    /**
+     * Pastes a structure with its origin at the given position. Pastes within the per-tick
+     * budget complete before this returns; larger ones continue on later ticks. The
+     * heightmap (if given) is updated immediately for every block. {@code onComplete}
+     * may be null.
+     */
+    public void stamp(Structure structure, World world, int x, int y, int z, ArenaHeightmap heightmap,
+                      Runnable onComplete) {
+        int count = structure.size();
+        if (count == 0) {
+            if (onComplete != null) {
+                onComplete.run();
+            }
+            return;
+        }
+
+        // Sort the blocks by chunk so each chunk is looked up once per run. Each entry packs
+        // the chunk relative to the structure's first chunk (16 bits per axis) above the
+        // block index, so a primitive sort groups them without boxing
+        int baseChunkX = (x + structure.offsets[0]) >> 4;
+        int baseChunkZ = (z + structure.offsets[2]) >> 4;
+        long[] order = new long[count];
+        for (int i = 0; i < count; i++) {
+            int chunkX = ((x + structure.offsets[i * 3]) >> 4) - baseChunkX;
+            int chunkZ = ((z + structure.offsets[i * 3 + 2]) >> 4) - baseChunkZ;
+            order[i] = ((long) (chunkX & 0xFFFF) << 48) | ((long) (chunkZ & 0xFFFF) << 32) | i;
+        }
+        Arrays.sort(order);
+
+        int[] xs = new int[count];
+        int[] ys = new int[count];
+        int[] zs = new int[count];
+        BlockData[] blocks = new BlockData[count];
+        for (int i = 0; i < count; i++) {
+            int source = (int) order[i];
+            xs[i] = x + structure.offsets[source * 3];
+            ys[i] = y + structure.offsets[source * 3 + 1];
+            zs[i] = z + structure.offsets[source * 3 + 2];
+            blocks[i] = structure.blocks[source];
+
+            Material material = blocks[i].getMaterial();
+            if (heightmap != null && !material.isAir()) {
+                heightmap.update(xs[i], ys[i], zs[i], material);
+            }
+        }
+
+        Paste paste = new Paste(world, xs, ys, zs, blocks, onComplete);
+        int budget = config.get().game().structureBlocksPerTick();
+        if (paste.apply(budget)) {
+            if (onComplete != null) {
+                onComplete.run();
+            }
+            return;
+        }
+
+        // Too large for one tick, continue on the following ticks
+        activePastes.add(paste);
+        paste.task = new BukkitRunnable() {
+            @Override
+            public void run() {
+                if (paste.apply(budget)) {
+                    cancel();
+                    activePastes.remove(paste);
+                    if (paste.onComplete != null) {
+                        paste.onComplete.run();
+                    }
+                }
+            }
+        };
+        paste.task.runTaskTimer(plugin, 1L, 1L);
+    }
+
+    /**
+     * Stops any unfinished pastes into the given world, e.g. before it is deleted.
+     */
+    public void cancel(World world) {
+        Iterator<Paste> iterator = activePastes.iterator();
+        while (iterator.hasNext()) {
+            Paste paste = iterator.next();
+            if (paste.world.equals(world)) {
+                paste.task.cancel();
+                iterator.remove();
+            }
+        }
+    }
+}
@@ -16,11 +16,11 @@ import java.util.stream.Collectors;
 
 public class TeamCommand implements CommandExecutor, TabCompleter {
     private final TeamManager teamManager;
-    private final GameManager gameManager;
+    private final ArenaManager arenaManager;
 
-    public TeamCommand(TeamManager teamManager, GameManager gameManager) {
+    public TeamCommand(TeamManager teamManager, ArenaManager arenaManager) {
         this.teamManager = teamManager;
-        this.gameManager = gameManager;
+        this.arenaManager = arenaManager;
     }
 
     @Override
@@ -32,6 +32,7 @@ public class TeamCommand implements CommandExecutor, TabCompleter {
         }
 
         // Only allow team changes during INIT phase (or for OPs during game)
+        GameManager gameManager = arenaManager.getArena(player);
         boolean isOpMidGame = player.isOp() && (gameManager.isRunning() || gameManager.isInCountdown());
         if (!gameManager.isInInitPhase() && gameManager.getState() != GameManager.GameState.IDLE && !isOpMidGame) {
             player.sendMessage(Component.text("You cannot change teams during the game!", NamedTextColor.RED));
@@ -60,7 +61,7 @@ public class TeamCommand implements CommandExecutor, TabCompleter {
         playerData.setTeam(team);
 
         // Update scoreboard team for display
-        teamManager.addPlayerToScoreboardTeam(player, team);
+        teamManager.addPlayerToScoreboardTeam(player, gameManager.getName(), team);
 
         // Clear inventory and kit if switching teams
         if (previousTeam != null && previousTeam != team) {
@@ -9,62 +9,68 @@ import org.bukkit.scoreboard.Scoreboard;
 import org.bukkit.scoreboard.Team;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class TeamManager {
-    private final Map<UUID, PlayerData> players = new HashMap<>();
+    // Read from the async chat thread
+    private final Map<UUID, PlayerData> players = new ConcurrentHashMap<>();
+    private static final String TEAM_PREFIX = "CTF_";
+
     private final Scoreboard scoreboard;
-    private Team attackersTeam;
-    private Team defendersTeam;
+    // Attackers and defenders of every arena, so nametags and friendly fire stay within a match
+    private final Map<String, Team[]> arenaTeams = new HashMap<>();
 
     public TeamManager(JavaPlugin plugin) {
         PlayerData.init(plugin);
         scoreboard = Bukkit.getScoreboardManager().getMainScoreboard();
-        setupScoreboardTeams();
     }
 
-    private void setupScoreboardTeams() {
-        // Create or get Attackers team
-        attackersTeam = scoreboard.getTeam("CTF_Attackers");
-        if (attackersTeam == null) {
-            attackersTeam = scoreboard.registerNewTeam("CTF_Attackers");
-        }
-        attackersTeam.prefix(Component.text("[Attacker] ", NamedTextColor.RED));
-        attackersTeam.color(NamedTextColor.RED);
-        attackersTeam.setAllowFriendlyFire(false);
-
-        // Create or get Defenders team
-        defendersTeam = scoreboard.getTeam("CTF_Defenders");
-        if (defendersTeam == null) {
-            defendersTeam = scoreboard.registerNewTeam("CTF_Defenders");
+    private Team[] getArenaTeams(String arena) {
+        return arenaTeams.computeIfAbsent(arena, name -> new Team[] {
+                setupScoreboardTeam(TEAM_PREFIX + name + "_Attackers",
+                        Component.text("[Attacker] ", NamedTextColor.RED), NamedTextColor.RED),
+                setupScoreboardTeam(TEAM_PREFIX + name + "_Defenders",
+                        Component.text("[Defender] ", NamedTextColor.BLUE), NamedTextColor.BLUE)
+        });
+    }
+
+    private Team setupScoreboardTeam(String name, Component prefix, NamedTextColor color) {
+        // Create or get the team, it survives restarts on the main scoreboard
+        Team team = scoreboard.getTeam(name);
+        if (team == null) {
+            team = scoreboard.registerNewTeam(name);
         }
-        defendersTeam.prefix(Component.text("[Defender] ", NamedTextColor.BLUE));
-        defendersTeam.color(NamedTextColor.BLUE);
-        defendersTeam.setAllowFriendlyFire(false);
+        team.prefix(prefix);
+        team.color(color);
+        team.setAllowFriendlyFire(false);
+        return team;
     }
 
-    public void addPlayerToScoreboardTeam(Player player, PlayerData.Team team) {
+    public void addPlayerToScoreboardTeam(Player player, String arena, PlayerData.Team team) {
         // Remove from any existing team first
         removePlayerFromScoreboardTeams(player);
 
-        // Add to appropriate team
-        if (team == PlayerData.Team.ATTACKERS) {
-            attackersTeam.addPlayer(player);
-        } else if (team == PlayerData.Team.DEFENDERS) {
-            defendersTeam.addPlayer(player);
+        // Add to the arena's team
+        if (team != null) {
+            getArenaTeams(arena)[team.ordinal()].addPlayer(player);
         }
     }
 
     public void removePlayerFromScoreboardTeams(Player player) {
-        attackersTeam.removePlayer(player);
-        defendersTeam.removePlayer(player);
+        Team current = scoreboard.getEntryTeam(player.getName());
+        if (current != null && current.getName().startsWith(TEAM_PREFIX)) {
+            current.removeEntry(player.getName());
+        }
     }
 
-    public void clearScoreboardTeams() {
-        for (String entry : new HashSet<>(attackersTeam.getEntries())) {
-            attackersTeam.removeEntry(entry);
-        }
-        for (String entry : new HashSet<>(defendersTeam.getEntries())) {
-            defendersTeam.removeEntry(entry);
+    /**
+     * Unregisters the scoreboard teams of a removed arena.
+     */
+    public void removeArenaTeams(String arena) {
+        Team[] teams = arenaTeams.remove(arena);
+        if (teams == null) return;
+        for (Team team : teams) {
+            team.unregister();
         }
     }
 
@@ -72,8 +78,7 @@ public class TeamManager {
         // Always update the player reference to ensure we have the current one
         PlayerData data = players.get(player.getUniqueId());
         if (data == null) {
-            data = new PlayerData(player);
-            players.put(player.getUniqueId(), data);
+            data = players.computeIfAbsent(player.getUniqueId(), id -> new PlayerData(player));
         } else {
             data.updatePlayer(player);
         }
@@ -84,6 +89,16 @@ public class TeamManager {
         players.remove(playerId);
     }
 
+    /**
+     * Saves the player's data and forgets it; it is read from the PDC again when they rejoin.
+     */
+    public void handleQuit(Player player) {
+        PlayerData data = players.remove(player.getUniqueId());
+        if (data != null) {
+            data.save();
+        }
+    }
+
     public void clearAllPlayers() {
         players.clear();
     }
@@ -0,0 +1,121 @@
+package io.ocf;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.format.NamedTextColor;
+import org.bukkit.Material;
+import org.bukkit.command.Command;
+import org.bukkit.command.CommandExecutor;
+import org.bukkit.command.CommandSender;
+import org.bukkit.command.TabCompleter;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.stream.Collectors;
+
+public class WalletCommand implements CommandExecutor, TabCompleter {
+    private final TeamManager teamManager;
+    private final ArenaManager arenaManager;
+
+    public WalletCommand(TeamManager teamManager, ArenaManager arenaManager) {
+        this.teamManager = teamManager;
+        this.arenaManager = arenaManager;
+    }
+
+    @Override
+    public boolean onCommand(@NotNull CommandSender sender, @NotNull Command command,
+                            @NotNull String label, @NotNull String[] args) {
+        if (!(sender instanceof Player player)) {
+            sender.sendMessage(Component.text("This command can only be used by players.", NamedTextColor.RED));
+            return true;
+        }
+
+        GameManager arena = arenaManager.getArena(player);
+        CopperWallet wallet = arena.getWallet();
+        if (!arena.isRunning() || !wallet.isEnabled()) {
+            player.sendMessage(Component.text("There is no copper wallet in this game!", NamedTextColor.RED));
+            return true;
+        }
+
+        PlayerData.Team team = teamManager.getPlayerData(player).getTeam();
+        if (team == null) {
+            player.sendMessage(Component.text("You must join a team first! Use /team <attackers|defenders>", NamedTextColor.RED));
+            return true;
+        }
+
+        if (args.length == 0) {
+            player.sendMessage(Component.text("Copper: ", NamedTextColor.GRAY)
+                    .append(Component.text(wallet.getBalance(player), NamedTextColor.GOLD))
+                    .append(Component.text(", team: ", NamedTextColor.GRAY))
+                    .append(Component.text(wallet.getTeamBalance(team), NamedTextColor.GOLD)));
+            return true;
+        }
+
+        switch (args[0].toLowerCase()) {
+            case "withdraw" -> handleWithdraw(player, team, wallet, args);
+            case "deposit" -> handleDeposit(player, team, wallet);
+            default -> player.sendMessage(Component.text("Usage: /wallet [withdraw <amount>|deposit]", NamedTextColor.RED));
+        }
+        return true;
+    }
+
+    private void handleWithdraw(Player player, PlayerData.Team team, CopperWallet wallet, String[] args) {
+        if (args.length < 2) {
+            player.sendMessage(Component.text("Usage: /wallet withdraw <amount>", NamedTextColor.RED));
+            return;
+        }
+
+        int amount;
+        try {
+            amount = Integer.parseInt(args[1]);
+        } catch (NumberFormatException e) {
+            player.sendMessage(Component.text("Invalid amount: " + args[1], NamedTextColor.RED));
+            return;
+        }
+        if (amount <= 0) {
+            player.sendMessage(Component.text("Amount must be positive!", NamedTextColor.RED));
+            return;
+        }
+
+        if (!wallet.debit(player, team, amount)) {
+            player.sendMessage(Component.text("Not enough copper! Have " + wallet.getSpendable(player, team), NamedTextColor.RED));
+            return;
+        }
+
+        HashMap<Integer, ItemStack> overflow = player.getInventory().addItem(new ItemStack(Material.COPPER_INGOT, amount));
+        for (ItemStack item : overflow.values()) {
+            player.getWorld().dropItemNaturally(player.getLocation(), item);
+        }
+        wallet.showHud(player, team);
+    }
+
+    private void handleDeposit(Player player, PlayerData.Team team, CopperWallet wallet) {
+        int amount = 0;
+        for (ItemStack item : player.getInventory().all(Material.COPPER_INGOT).values()) {
+            amount += item.getAmount();
+        }
+        if (amount == 0) {
+            player.sendMessage(Component.text("You have no copper to deposit!", NamedTextColor.RED));
+            return;
+        }
+
+        player.getInventory().remove(Material.COPPER_INGOT);
+        wallet.credit(player, amount);
+        wallet.showHud(player, team);
+    }
+
+    @Override
+    public @Nullable List<String> onTabComplete(@NotNull CommandSender sender, @NotNull Command command,
+                                                 @NotNull String label, @NotNull String[] args) {
+        if (args.length == 1) {
+            return Arrays.asList("withdraw", "deposit").stream()
+                    .filter(s -> s.startsWith(args[0].toLowerCase()))
+                    .collect(Collectors.toList());
+        }
+        return List.of();
+    }
+}
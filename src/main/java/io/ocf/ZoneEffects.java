@@ -0,0 +1,175 @@
+package io.ocf;
+
+import io.papermc.paper.registry.RegistryAccess;
+import io.papermc.paper.registry.RegistryKey;
+import org.bukkit.Bukkit;
+import org.bukkit.NamespacedKey;
+import org.bukkit.entity.Player;
+import org.bukkit.potion.PotionEffect;
+import org.bukkit.potion.PotionEffectType;
+
+import java.util.*;
+import java.util.logging.Logger;
+
+/**
+ * Potion effects given to defenders inside the flag zone. The effects of each tier are
+ * built once from the config: a defender gets them when they enter the zone or the tier
+ * changes, and loses them when they leave. The effects last 30 seconds and
+ * {@link #refresh()} only re-adds them shortly before they run out, so they wear off on
+ * their own if the server stops mid-match.
+ */
+public class ZoneEffects implements ZoneTracker.ZoneListener {
+    /** How often {@link #refresh()} should run. */
+    public static final int REFRESH_TICKS = 50;
+    private static final int EFFECT_TICKS = 600;
+    // Effects like night vision start flashing below 200 ticks, top them up before that
+    private static final int TOP_UP_BELOW_TICKS = 200 + REFRESH_TICKS * 2;
+
+    private final ConfigManager config;
+    private List<PotionEffect[]> tiers;
+    private final Set<UUID> inZone = new HashSet<>();
+    private int tier = 0;
+
+    public ZoneEffects(ConfigManager config) {
+        this.config = config;
+        this.tiers = config.get().zoneTiers();
+    }
+
+    /**
+     * Parses the {@code zone_effects.tiers} config list.
+     */
+    public static List<PotionEffect[]> parseTiers(List<?> tierList, Logger logger) {
+        List<PotionEffect[]> tiers = new ArrayList<>();
+        if (tierList != null) {
+            for (Object tierObj : tierList) {
+                if (!(tierObj instanceof List<?> effectList)) continue;
+
+                List<PotionEffect> effects = new ArrayList<>();
+                for (Object effectObj : effectList) {
+                    if (!(effectObj instanceof Map<?, ?> effectMap)) continue;
+
+                    String name = String.valueOf(effectMap.get("effect")).toLowerCase();
+                    PotionEffectType type = RegistryAccess.registryAccess().getRegistry(RegistryKey.MOB_EFFECT)
+                            .get(NamespacedKey.minecraft(name));
+                    if (type == null) {
+                        logger.warning("Unknown zone effect: " + name);
+                        continue;
+                    }
+                    int amplifier = effectMap.get("amplifier") instanceof Number n ? n.intValue() : 0;
+                    effects.add(new PotionEffect(type, EFFECT_TICKS, amplifier,
+                            true, // Ambient
+                            true, // Show particles
+                            true  // Show icon
+                    ));
+                }
+                tiers.add(effects.toArray(new PotionEffect[0]));
+            }
+        }
+
+        if (tiers.isEmpty()) {
+            tiers.add(new PotionEffect[] {
+                    new PotionEffect(PotionEffectType.REGENERATION, EFFECT_TICKS, 0, true, true, true)
+            });
+        }
+        logger.info("Loaded " + tiers.size() + " zone effect tiers");
+        return tiers;
+    }
+
+    /**
+     * Current tier, starting at 0.
+     */
+    public int getTier() {
+        return tier;
+    }
+
+    public int getTierCount() {
+        return tiers.size();
+    }
+
+    /**
+     * Moves to the next tier and gives it to everyone in the zone in place of the previous
+     * one; returns false if already at the highest tier.
+     */
+    public boolean upgrade() {
+        if (tier + 1 >= tiers.size()) return false;
+        for (UUID id : inZone) {
+            Player player = Bukkit.getPlayer(id);
+            if (player != null) {
+                removeEffects(player);
+            }
+        }
+        tier++;
+        for (UUID id : inZone) {
+            Player player = Bukkit.getPlayer(id);
+            if (player != null) {
+                applyEffects(player);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Re-adds the effects that are missing or about to run out for everyone in the zone.
+     * Runs every {@link #REFRESH_TICKS}.
+     */
+    public void refresh() {
+        PotionEffect[] effects = tiers.get(tier);
+        for (UUID id : inZone) {
+            Player player = Bukkit.getPlayer(id);
+            if (player == null) continue;
+            for (PotionEffect effect : effects) {
+                PotionEffect active = player.getPotionEffect(effect.getType());
+                if (active == null || active.getAmplifier() < effect.getAmplifier()
+                        || (!active.isInfinite() && active.getDuration() < TOP_UP_BELOW_TICKS)) {
+                    player.addPotionEffect(effect);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void onEnter(Player player) {
+        inZone.add(player.getUniqueId());
+        applyEffects(player);
+    }
+
+    @Override
+    public void onExit(Player player) {
+        if (inZone.remove(player.getUniqueId())) {
+            removeEffects(player);
+        }
+    }
+
+    private void applyEffects(Player player) {
+        for (PotionEffect effect : tiers.get(tier)) {
+            player.addPotionEffect(effect);
+        }
+    }
+
+    private void removeEffects(Player player) {
+        for (PotionEffect effect : tiers.get(tier)) {
+            // Leave effects from other sources (e.g. golden apples) alone
+            PotionEffect active = player.getPotionEffect(effect.getType());
+            if (active != null && active.isAmbient() && !active.isInfinite()
+                    && active.getDuration() <= EFFECT_TICKS && active.getAmplifier() == effect.getAmplifier()) {
+                player.removePotionEffect(effect.getType());
+            }
+        }
+    }
+
+    /**
+     * Back to the first tier, removing the effects from anyone still in the zone. Tiers
+     * changed by a reload apply from here on.
+     */
+    public void reset() {
+        for (UUID id : inZone) {
+            Player player = Bukkit.getPlayer(id);
+            if (player != null) {
+                removeEffects(player);
+            }
+        }
+        inZone.clear();
+        tier = 0;
+        tiers = config.get().zoneTiers();
+    }
+}
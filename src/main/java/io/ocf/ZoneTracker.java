@@ -0,0 +1,161 @@
+package io.ocf;
+
+import org.bukkit.Bukkit;
+import org.bukkit.GameMode;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+
+import java.util.*;
+
+/**
+ * Spherical zones in the arena and the players currently inside them. Membership is
+ * updated from movement and teleport events, and zone listeners are told as soon as a
+ * player enters or leaves.
+ */
+public class ZoneTracker {
+    private final TeamManager teamManager;
+    private final Map<String, Zone> zones = new LinkedHashMap<>();
+
+    public interface ZoneListener {
+        void onEnter(Player player);
+
+        default void onExit(Player player) {}
+    }
+
+    public static class Zone {
+        private final String name;
+        private final World world;
+        private final double x;
+        private final double y;
+        private final double z;
+        private final double radiusSquared;
+        private final PlayerData.Team team; // null = any team
+        private final Set<UUID> members = new HashSet<>();
+        private final List<ZoneListener> listeners = new ArrayList<>();
+
+        private Zone(String name, Location center, double radius, PlayerData.Team team) {
+            this.name = name;
+            this.world = center.getWorld();
+            this.x = center.getX();
+            this.y = center.getY();
+            this.z = center.getZ();
+            this.radiusSquared = radius * radius;
+            this.team = team;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public boolean contains(Location location) {
+            if (location.getWorld() != world) return false;
+            double dx = location.getX() - x, dy = location.getY() - y, dz = location.getZ() - z;
+            return dx * dx + dy * dy + dz * dz <= radiusSquared;
+        }
+
+        public boolean isMember(Player player) {
+            return members.contains(player.getUniqueId());
+        }
+
+        /**
+         * Any online player currently in the zone, or null.
+         */
+        public Player getAnyMember() {
+            for (UUID id : members) {
+                Player player = Bukkit.getPlayer(id);
+                if (player != null) return player;
+            }
+            return null;
+        }
+
+        public void addListener(ZoneListener listener) {
+            listeners.add(listener);
+        }
+
+        public void removeListener(ZoneListener listener) {
+            listeners.remove(listener);
+        }
+
+        public boolean hasListeners() {
+            return !listeners.isEmpty();
+        }
+
+        private void enter(Player player) {
+            if (!members.add(player.getUniqueId())) return;
+            // Listeners may remove themselves while being notified
+            for (ZoneListener listener : listeners.toArray(new ZoneListener[0])) {
+                listener.onEnter(player);
+            }
+        }
+
+        private void exit(Player player) {
+            if (!members.remove(player.getUniqueId())) return;
+            for (ZoneListener listener : listeners.toArray(new ZoneListener[0])) {
+                listener.onExit(player);
+            }
+        }
+    }
+
+    public ZoneTracker(TeamManager teamManager) {
+        this.teamManager = teamManager;
+    }
+
+    /**
+     * Adds a zone that only tracks players of the given team (null for everyone).
+     * Players already inside are picked up by the next {@link #update} or {@link #refresh}.
+     */
+    public Zone addZone(String name, Location center, double radius, PlayerData.Team team) {
+        Zone zone = new Zone(name, center, radius, team);
+        zones.put(name, zone);
+        return zone;
+    }
+
+    public Zone getZone(String name) {
+        return zones.get(name);
+    }
+
+    /**
+     * Re-evaluates the player's zones at their new location. Called when the player
+     * moves to another block or teleports.
+     */
+    public void update(Player player, Location location) {
+        if (zones.isEmpty()) return;
+
+        // Dead players waiting to respawn are spectating and don't count
+        boolean alive = player.getGameMode() != GameMode.SPECTATOR;
+        PlayerData.Team team = teamManager.getPlayerData(player).getTeam();
+        for (Zone zone : zones.values()) {
+            if (alive && (zone.team == null || zone.team == team) && zone.contains(location)) {
+                zone.enter(player);
+            } else {
+                zone.exit(player);
+            }
+        }
+    }
+
+    /**
+     * Evaluates every player in the world, e.g. right after the zones were created.
+     */
+    public void refresh(World world) {
+        for (Player player : world.getPlayers()) {
+            update(player, player.getLocation());
+        }
+    }
+
+    /**
+     * Removes the player from every zone, e.g. on death or quit.
+     */
+    public void remove(Player player) {
+        for (Zone zone : zones.values()) {
+            zone.exit(player);
+        }
+    }
+
+    /**
+     * Drops every zone without notifying listeners.
+     */
+    public void clear() {
+        zones.clear();
+    }
+}
@@ -2,28 +2,20 @@ package io.ocf.items;
 
 import io.ocf.GameManager;
 import io.ocf.PlayerData;
-import io.ocf.TeamManager;
+import io.ocf.ZoneTracker;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.format.NamedTextColor;
 import net.kyori.adventure.title.Title;
-import org.bukkit.Bukkit;
 import org.bukkit.Location;
 import org.bukkit.Material;
 import org.bukkit.Sound;
 import org.bukkit.entity.Player;
-import org.bukkit.plugin.java.JavaPlugin;
-import org.bukkit.scheduler.BukkitRunnable;
 
 import java.time.Duration;
 import java.util.List;
 
 public class AlarmItem extends CustomItem {
-    private static final int DETECTION_RADIUS = 30;
-    private static final int CHECK_INTERVAL_TICKS = 20; // Check every second
-    
-    private static BukkitRunnable activeAlarm = null;
-    private static JavaPlugin plugin;
-    private static TeamManager teamManager;
+    public static final int DETECTION_RADIUS = 30;
 
     public AlarmItem() {
         super(
@@ -40,84 +32,59 @@ public class AlarmItem extends CustomItem {
         );
     }
 
-    public static void init(JavaPlugin p, TeamManager tm) {
-        plugin = p;
-        teamManager = tm;
-    }
-
-    public static boolean isAlarmActive() {
-        return activeAlarm != null;
-    }
-
-    public static void deactivateAlarm() {
-        if (activeAlarm != null) {
-            activeAlarm.cancel();
-            activeAlarm = null;
-        }
-    }
-
     @Override
     public boolean onUse(Player player, GameManager gameManager) {
-        if (activeAlarm != null) {
-            player.sendMessage(Component.text("An alarm is already active!", NamedTextColor.RED));
-            return false;
-        }
-
         Location flagLocation = gameManager.getFlagLocation();
-        if (flagLocation == null) {
+        ZoneTracker.Zone zone = gameManager.getZoneTracker().getZone("alarm");
+        if (flagLocation == null || zone == null) {
             player.sendMessage(Component.text("No flag has been placed yet!", NamedTextColor.RED));
             return false;
         }
 
-        // Start monitoring task
-        activeAlarm = new BukkitRunnable() {
-            @Override
-            public void run() {
-                if (!gameManager.isRunning()) {
-                    deactivateAlarm();
-                    return;
-                }
+        // An armed alarm is the only listener of the arena's alarm zone, and goes away with it
+        if (zone.hasListeners()) {
+            player.sendMessage(Component.text("An alarm is already active!", NamedTextColor.RED));
+            return false;
+        }
 
-                Location flag = gameManager.getFlagLocation();
-                if (flag == null) {
-                    deactivateAlarm();
-                    return;
-                }
+        // An attacker may already be near the flag
+        Player attacker = zone.getAnyMember();
+        if (attacker != null) {
+            triggerAlarm(gameManager, attacker);
+            return true;
+        }
 
-                // Check for attackers near flag
-                for (Player online : Bukkit.getOnlinePlayers()) {
-                    PlayerData data = teamManager.getPlayerData(online);
-                    if (data.getTeam() == PlayerData.Team.ATTACKERS) {
-                        if (online.getWorld().equals(flag.getWorld()) && 
-                            online.getLocation().distance(flag) <= DETECTION_RADIUS) {
-                            // Attacker detected! Trigger alarm
-                            triggerAlarm(online);
-                            deactivateAlarm();
-                            return;
-                        }
-                    }
-                }
+        // Otherwise wait for the first attacker to enter the detection zone
+        zone.addListener(new ZoneTracker.ZoneListener() {
+            @Override
+            public void onEnter(Player attacker) {
+                triggerAlarm(gameManager, attacker);
+                zone.removeListener(this);
             }
-        };
-        activeAlarm.runTaskTimer(plugin, CHECK_INTERVAL_TICKS, CHECK_INTERVAL_TICKS);
+        });
 
         return true;
     }
 
-    private void triggerAlarm(Player detectedAttacker) {
-        // Alert all defenders
+    private void triggerAlarm(GameManager gameManager, Player detectedAttacker) {
+        // Report the closest attacker; one who only just stepped in may not be in this tick's grid yet
+        Location flagLocation = gameManager.getFlagLocation();
+        Player nearest = gameManager.getPlayerGrid().findNearest(PlayerData.Team.ATTACKERS, flagLocation, DETECTION_RADIUS);
+        if (nearest == null) {
+            nearest = detectedAttacker;
+        }
+        int distance = (int) nearest.getLocation().distance(flagLocation);
+
+        // Alert all defenders of the arena
         Title title = Title.title(
             Component.text("⚠ ALARM ⚠", NamedTextColor.RED),
-            Component.text("Attacker detected near the flag!", NamedTextColor.YELLOW),
+            Component.text("Attacker detected " + distance + " blocks from the flag!", NamedTextColor.YELLOW),
             Title.Times.times(Duration.ZERO, Duration.ofSeconds(3), Duration.ofSeconds(1))
         );
 
-        for (Player online : Bukkit.getOnlinePlayers()) {
-            PlayerData data = teamManager.getPlayerData(online);
-            if (data.getTeam() == PlayerData.Team.DEFENDERS) {
-                online.showTitle(title);
-                online.playSound(online.getLocation(), Sound.ENTITY_ELDER_GUARDIAN_CURSE, 1.0f, 1.5f);
-            }
-        }
+        gameManager.getPlayerGrid().forEach(PlayerData.Team.DEFENDERS, defender -> {
+            defender.showTitle(title);
+            defender.playSound(defender.getLocation(), Sound.ENTITY_ELDER_GUARDIAN_CURSE, 1.0f, 1.5f);
+        });
     }
 }
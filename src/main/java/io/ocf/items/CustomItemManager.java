@@ -1,6 +1,6 @@
 package io.ocf.items;
 
-import io.ocf.GameManager;
+import io.ocf.ArenaManager;
 import io.ocf.PlayerData;
 import io.ocf.TeamManager;
 import org.bukkit.inventory.ItemStack;
@@ -12,7 +12,7 @@ import java.util.Map;
 public class CustomItemManager {
     private final Map<String, CustomItem> items = new HashMap<>();
     private final JavaPlugin plugin;
-    private final GameManager gameManager;
+    private final ArenaManager arenaManager;
     private final TeamManager teamManager;
 
     // Specific item instances for easy access
@@ -21,16 +21,15 @@ public class CustomItemManager {
     private final AlarmItem alarmItem;
     private final FlagCompassItem flagCompassItem;
     private final NukeRocketItem nukeRocketItem;
+    private final ZoneUpgradeItem zoneUpgradeItem;
 
-    public CustomItemManager(JavaPlugin plugin, GameManager gameManager, TeamManager teamManager) {
+    public CustomItemManager(JavaPlugin plugin, ArenaManager arenaManager, TeamManager teamManager) {
         this.plugin = plugin;
-        this.gameManager = gameManager;
+        this.arenaManager = arenaManager;
         this.teamManager = teamManager;
 
         // Initialize static keys
         CustomItem.init(plugin);
-        AlarmItem.init(plugin, teamManager);
-        FlagCompassItem.init(plugin, gameManager, teamManager);
 
         // Create and register items
         fireballItem = new FireballItem();
@@ -38,12 +37,14 @@ public class CustomItemManager {
         alarmItem = new AlarmItem();
         flagCompassItem = new FlagCompassItem();
         nukeRocketItem = new NukeRocketItem(plugin);
+        zoneUpgradeItem = new ZoneUpgradeItem();
 
         registerItem(fireballItem);
         registerItem(instantTNTItem);
         registerItem(alarmItem);
         registerItem(flagCompassItem);
         registerItem(nukeRocketItem);
+        registerItem(zoneUpgradeItem);
 
         plugin.getLogger().info("Registered " + items.size() + " custom items");
     }
@@ -88,6 +89,10 @@ public class CustomItemManager {
         return nukeRocketItem.createItemStack(amount);
     }
 
+    public ItemStack createZoneUpgrade(int amount) {
+        return zoneUpgradeItem.createItemStack(amount);
+    }
+
     public FireballItem getFireballItem() {
         return fireballItem;
     }
@@ -108,8 +113,12 @@ public class CustomItemManager {
         return nukeRocketItem;
     }
 
-    public GameManager getGameManager() {
-        return gameManager;
+    public ZoneUpgradeItem getZoneUpgradeItem() {
+        return zoneUpgradeItem;
+    }
+
+    public ArenaManager getArenaManager() {
+        return arenaManager;
     }
 
     public TeamManager getTeamManager() {
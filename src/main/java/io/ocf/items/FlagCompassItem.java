@@ -2,27 +2,17 @@ package io.ocf.items;
 
 import io.ocf.GameManager;
 import io.ocf.PlayerData;
-import io.ocf.TeamManager;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.format.NamedTextColor;
-import org.bukkit.Bukkit;
 import org.bukkit.Location;
 import org.bukkit.Material;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.CompassMeta;
-import org.bukkit.plugin.java.JavaPlugin;
-import org.bukkit.scheduler.BukkitRunnable;
-import org.bukkit.scheduler.BukkitTask;
 
 import java.util.List;
 
 public class FlagCompassItem extends CustomItem {
-    private static BukkitTask updateTask;
-    private static GameManager gameManager;
-    private static TeamManager teamManager;
-    private static JavaPlugin plugin;
-
     public FlagCompassItem() {
         super(
             "compass",
@@ -38,12 +28,6 @@ public class FlagCompassItem extends CustomItem {
         );
     }
 
-    public static void init(JavaPlugin p, GameManager gm, TeamManager tm) {
-        plugin = p;
-        gameManager = gm;
-        teamManager = tm;
-    }
-
     @Override
     public boolean onUse(Player player, GameManager gameManager) {
         Location flagLoc = gameManager.getFlagLocation();
@@ -59,40 +43,25 @@ public class FlagCompassItem extends CustomItem {
         return true;
     }
 
-    public static void startUpdateTask() {
-        if (updateTask != null) {
-            updateTask.cancel();
-        }
-
-        updateTask = new BukkitRunnable() {
-            @Override
-            public void run() {
-                if (gameManager == null || !gameManager.isRunning()) {
-                    return;
-                }
-
-                Location flagLocation = gameManager.getFlagLocation();
-                if (flagLocation == null) {
-                    return;
-                }
-
-                for (Player player : Bukkit.getOnlinePlayers()) {
-                    PlayerData data = teamManager.getPlayerData(player);
-                    if (data.getTeam() != PlayerData.Team.ATTACKERS) {
-                        continue;
-                    }
+    /**
+     * Keeps the compasses of the arena's attackers pointing at its flag. The job belongs
+     * to the arena's match ticker and stops with the game.
+     */
+    public static void startUpdateTask(GameManager gameManager) {
+        // Update every 10 ticks (0.5 seconds)
+        gameManager.getMatchTicker().repeat("compass", 10, job -> {
+            if (!gameManager.isRunning()) {
+                return;
+            }
 
-                    updateCompassesInInventory(player, flagLocation);
-                }
+            Location flagLocation = gameManager.getFlagLocation();
+            if (flagLocation == null) {
+                return;
             }
-        }.runTaskTimer(plugin, 0L, 10L); // Update every 10 ticks (0.5 seconds)
-    }
 
-    public static void stopUpdateTask() {
-        if (updateTask != null) {
-            updateTask.cancel();
-            updateTask = null;
-        }
+            gameManager.getPlayerGrid().forEach(PlayerData.Team.ATTACKERS,
+                    player -> updateCompassesInInventory(player, flagLocation));
+        });
     }
 
     private static void updateCompassesInInventory(Player player, Location flagLocation) {
@@ -56,7 +56,7 @@ public class ItemListener implements Listener {
         event.setCancelled(true);
 
         // Execute the custom item action
-        boolean success = customItem.onUse(player, itemManager.getGameManager());
+        boolean success = customItem.onUse(player, itemManager.getArenaManager().getArena(player));
 
         // Consume item if successful and consumable
         if (success && customItem.isConsumeOnUse()) {
@@ -100,7 +100,7 @@ public class ItemListener implements Listener {
             }
         } else {
             // Generic place handling
-            boolean success = customItem.onUse(player, itemManager.getGameManager());
+            boolean success = customItem.onUse(player, itemManager.getArenaManager().getArena(player));
             if (success && customItem.isConsumeOnUse() && player.getGameMode() != GameMode.CREATIVE) {
                 item.setAmount(item.getAmount() - 1);
             }
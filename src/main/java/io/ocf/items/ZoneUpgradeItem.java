@@ -0,0 +1,64 @@
+package io.ocf.items;
+
+import io.ocf.GameManager;
+import io.ocf.PlayerData;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.format.NamedTextColor;
+import net.kyori.adventure.title.Title;
+import org.bukkit.Material;
+import org.bukkit.Sound;
+import org.bukkit.entity.Player;
+
+import java.time.Duration;
+import java.util.List;
+
+public class ZoneUpgradeItem extends CustomItem {
+    private static final String[] LEVEL_NAMES = {"I", "II", "III", "IV", "V"};
+
+    public ZoneUpgradeItem() {
+        super(
+            "zone_upgrade",
+            Component.text("Zone Upgrade", NamedTextColor.AQUA),
+            Material.BEACON,
+            PlayerData.Team.DEFENDERS, // Defenders only
+            true, // Consume on use
+            TriggerType.INTERACT,
+            List.of(
+                Component.text("Right-click to upgrade the flag zone", NamedTextColor.GRAY),
+                Component.text("I: Regeneration", NamedTextColor.GRAY),
+                Component.text("II: Regeneration II", NamedTextColor.GRAY),
+                Component.text("III: Regeneration II + Strength", NamedTextColor.GRAY)
+            )
+        );
+    }
+
+    @Override
+    public boolean onUse(Player player, GameManager gameManager) {
+        if (!gameManager.isRunning()) {
+            player.sendMessage(Component.text("The zone can only be upgraded during a game!", NamedTextColor.RED));
+            return false;
+        }
+
+        if (!gameManager.upgradeZoneEffects()) {
+            player.sendMessage(Component.text("The zone is already at the highest level!", NamedTextColor.RED));
+            return false;
+        }
+
+        // Announce to all defenders
+        String level = formatLevel(gameManager.getZoneLevel());
+        Title title = Title.title(
+            Component.text("Zone Upgraded", NamedTextColor.AQUA),
+            Component.text("Level " + level + " (by " + player.getName() + ")", NamedTextColor.YELLOW),
+            Title.Times.times(Duration.ZERO, Duration.ofSeconds(2), Duration.ofMillis(500))
+        );
+        gameManager.getPlayerGrid().forEach(PlayerData.Team.DEFENDERS, defender -> {
+            defender.showTitle(title);
+            defender.playSound(defender.getLocation(), Sound.BLOCK_BEACON_POWER_SELECT, 1.0f, 1.0f);
+        });
+        return true;
+    }
+
+    private static String formatLevel(int level) {
+        return level >= 1 && level <= LEVEL_NAMES.length ? LEVEL_NAMES[level - 1] : String.valueOf(level);
+    }
+}